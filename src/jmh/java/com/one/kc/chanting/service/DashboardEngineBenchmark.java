@@ -0,0 +1,204 @@
+package com.one.kc.chanting.service;
+
+import com.one.kc.chanting.dto.DashboardDto;
+import com.one.kc.chanting.dto.DashboardSeries;
+import com.one.kc.chanting.entity.Chanting;
+import com.one.kc.chanting.entity.ChantingDailySummary;
+import com.one.kc.common.enums.DashboardGranularity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Dashboard assembly: the original implementation against
+ * {@link DashboardEngine}.
+ *
+ * <p>
+ * - {@code original*} reproduce the code before the daily summary: chanting
+ *   rows grouped by local day with {@code groupingBy}, one
+ *   {@link DashboardDto} per day, a {@link BigDecimal} per day for the
+ *   average and a walk over the series for the streak
+ * - {@code engine*} run the current code on daily summary rows; the
+ *   streak variant is the recalculation from qualifying dates, as the
+ *   dashboard itself reads the stored streak
+ * - Every variant walks the resulting series once, as serialization does
+ * </p>
+ *
+ * <p>
+ * Run with {@code ./gradlew jmh}; the gc profiler reports
+ * {@code gc.alloc.rate.norm} (bytes per operation).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DashboardEngineBenchmark {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+    private static final int COMMITTED_ROUNDS = 16;
+
+    @Param({"1", "5", "10"})
+    public int years;
+
+    private List<Chanting> chantings;
+    private List<ChantingDailySummary> summaries;
+    private List<LocalDate> qualifyingDates;
+    private List<DashboardDto> originalSeries;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup
+    public void setUp() {
+
+        to = LocalDate.of(2025, 12, 31);
+        from = to.minusYears(years).plusDays(1);
+
+        SplittableRandom random = new SplittableRandom(42);
+        chantings = new ArrayList<>();
+        summaries = new ArrayList<>();
+        qualifyingDates = new ArrayList<>();
+
+        // Roughly four days in five have chanting, in one or two sessions
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+
+            if (random.nextInt(5) == 0) {
+                continue;
+            }
+
+            int sessions = 1 + random.nextInt(2);
+            int total = 0;
+
+            for (int i = 0; i < sessions; i++) {
+                int rounds = 1 + random.nextInt(16);
+                Chanting chanting = new Chanting();
+                chanting.setChantingRounds(rounds);
+                chanting.setChantingAt(date.atTime(6 + i * 12, 0).atZone(ZONE).toInstant());
+                chantings.add(chanting);
+                total += rounds;
+            }
+
+            summaries.add(new ChantingDailySummary(1L, date, total));
+            if (total >= COMMITTED_ROUNDS) {
+                qualifyingDates.add(date);
+            }
+        }
+
+        originalSeries = originalTimeSeries();
+    }
+
+    @Benchmark
+    public void original(Blackhole blackhole) {
+
+        int totalRounds = chantings.stream()
+                .mapToInt(Chanting::getChantingRounds)
+                .sum();
+
+        List<DashboardDto> series = originalTimeSeries();
+
+        blackhole.consume(totalRounds);
+        blackhole.consume(originalAverage(series));
+        blackhole.consume(originalStreak(series));
+        series.forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void engine(Blackhole blackhole) {
+
+        int[] rounds = DashboardEngine.dailyRounds(summaries, from, to);
+        int totalRounds = DashboardEngine.total(rounds);
+
+        blackhole.consume(totalRounds);
+        blackhole.consume(DashboardEngine.average(totalRounds, from, to));
+        new DashboardSeries(from, rounds, DashboardGranularity.DAY).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public int originalStreakOnly() {
+        return originalStreak(originalSeries);
+    }
+
+    @Benchmark
+    public DashboardEngine.Streak engineStreakOnly() {
+        return DashboardEngine.streak(qualifyingDates);
+    }
+
+    private List<DashboardDto> originalTimeSeries() {
+
+        Map<LocalDate, Integer> dailyTotals = chantings.stream()
+                .collect(Collectors.groupingBy(
+                        chanting -> chanting.getChantingAt().atZone(ZONE).toLocalDate(),
+                        Collectors.summingInt(Chanting::getChantingRounds)
+                ));
+
+        List<DashboardDto> result = new ArrayList<>();
+
+        for (LocalDate current = from; !current.isAfter(to); current = current.plusDays(1)) {
+            DashboardDto dto = new DashboardDto();
+            dto.setChantingDate(current);
+            dto.setChantingRounds(dailyTotals.getOrDefault(current, 0));
+            result.add(dto);
+        }
+
+        return result;
+    }
+
+    private BigDecimal originalAverage(List<DashboardDto> records) {
+
+        BigDecimal sum = records.stream()
+                .map(record -> BigDecimal.valueOf(record.getChantingRounds()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return sum.divide(BigDecimal.valueOf(records.size()), 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * The original walk back from "today", here the last day of the range.
+     */
+    private int originalStreak(List<DashboardDto> records) {
+
+        int streak = 0;
+        LocalDate expectedDate = to;
+
+        for (int i = records.size() - 1; i >= 0; i--) {
+
+            DashboardDto dto = records.get(i);
+
+            if (streak == 0
+                    && !dto.getChantingDate().equals(expectedDate)
+                    && !dto.getChantingDate().equals(expectedDate.minusDays(1))) {
+                continue;
+            }
+
+            if (!dto.getChantingDate().equals(expectedDate)
+                    && !dto.getChantingDate().equals(expectedDate.minusDays(1))) {
+                break;
+            }
+
+            if (dto.getChantingRounds() < COMMITTED_ROUNDS) {
+                break;
+            }
+
+            streak++;
+            expectedDate = dto.getChantingDate().minusDays(1);
+        }
+
+        return streak;
+    }
+}
@@ -1,5 +1,6 @@
 package com.one.kc.auth.config;
 
+import com.one.kc.chanting.service.IdempotencyService;
 import com.one.kc.common.utils.LoggerUtils;
 import jakarta.servlet.http.Cookie;
 import org.slf4j.Logger;
@@ -8,6 +9,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -166,6 +168,10 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(authConfigProperties.getCors().getAllowedOrigins());
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of(
+                IdempotencyService.REPLAYED_HEADER,
+                HttpHeaders.ETAG
+        ));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -0,0 +1,110 @@
+package com.one.kc.chanting.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "chanting")
+@Data
+@Validated
+public class ChantingConfigProperties {
+
+    @Valid
+    private Batch batch = new Batch();
+
+    @Valid
+    private Partition partition = new Partition();
+
+    @Valid
+    private ColdStorage coldStorage = new ColdStorage();
+
+    @Valid
+    private WriteBehind writeBehind = new WriteBehind();
+
+    @Valid
+    private Tombstone tombstone = new Tombstone();
+
+    @Data
+    public static class Batch {
+        @Min(1)
+        private int maxSize = 500;
+    }
+
+    /**
+     * Monthly partitioning of {@code chanting}. The table is converted by
+     * {@code POST /api/admin/chanting/partition}, never at startup.
+     */
+    @Data
+    public static class Partition {
+        private boolean enabled = false;
+
+        /** Months kept in the live table before moving to the archive. */
+        @Min(1)
+        private int retentionMonths = 24;
+
+        /** Empty future partitions kept ready ahead of the current month. */
+        @Min(1)
+        private int monthsAhead = 3;
+    }
+
+    /**
+     * Rows leaving the live table (after {@code partition.retentionMonths})
+     * are compacted into gzip segment files, one per user and year.
+     */
+    @Data
+    public static class ColdStorage {
+        private boolean enabled = false;
+
+        /**
+         * Absolute path of a shared, durable volume; must contain the
+         * marker file checked at startup.
+         */
+        @NotBlank
+        private String directory = "data/chanting-segments";
+    }
+
+    /**
+     * Single chanting creates are journaled locally, acknowledged with 202
+     * and written to MySQL in batches by a background writer.
+     */
+    @Data
+    public static class WriteBehind {
+        private boolean enabled = false;
+
+        /** Pending records before new submissions are rejected with 503. */
+        @Min(1)
+        private int queueCapacity = 10000;
+
+        @Min(1)
+        private int batchSize = 500;
+
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        /**
+         * Attempts of a failing batch before its records are retried one
+         * by one; a record that fails on its own for a non-transient
+         * reason goes to the dead-letter file.
+         */
+        @Min(1)
+        private int maxAttempts = 5;
+
+        @NotBlank
+        private String journalDirectory = "data/chanting-journal";
+    }
+
+    /**
+     * Deletion markers served by the change feed. A client whose cursor
+     * is older than the retention has to start a full sync.
+     */
+    @Data
+    public static class Tombstone {
+        private Duration retention = Duration.ofDays(90);
+    }
+}
@@ -0,0 +1,91 @@
+package com.one.kc.chanting.config;
+
+import com.one.kc.chanting.service.ChantingStreakService;
+import com.one.kc.chanting.service.ChantingSummaryService;
+import com.one.kc.common.utils.LoggerUtils;
+import com.one.kc.user.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Populates {@code chanting.chanting_local_date}, {@code chanting_daily_summary}
+ * and {@code chanting_streak} for users whose chanting records were written
+ * before they existed.
+ */
+@Component
+public class ChantingSummaryBackfillRunner implements ApplicationRunner {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(ChantingSummaryBackfillRunner.class);
+
+    private final ChantingSummaryService chantingSummaryService;
+    private final ChantingStreakService chantingStreakService;
+    private final UserRepository userRepository;
+
+    public ChantingSummaryBackfillRunner(
+            ChantingSummaryService chantingSummaryService,
+            ChantingStreakService chantingStreakService,
+            UserRepository userRepository
+    ) {
+        this.chantingSummaryService = chantingSummaryService;
+        this.chantingStreakService = chantingStreakService;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        backfillLocalDates();
+        backfillSummaries();
+        backfillStreaks();
+    }
+
+    private void backfillLocalDates() {
+
+        List<Long> userIds = chantingSummaryService.findUsersWithoutLocalDate();
+
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        LoggerUtils.info(logger, "Backfilling chanting local date for {} users", userIds.size());
+
+        for (Long userId : userIds) {
+            chantingSummaryService.assignLocalDates(userId);
+        }
+    }
+
+    private void backfillSummaries() {
+
+        List<Long> userIds = chantingSummaryService.findUsersWithoutSummary();
+
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        LoggerUtils.info(logger, "Backfilling chanting daily summary for {} users", userIds.size());
+
+        for (Long userId : userIds) {
+            chantingSummaryService.rebuild(userId);
+        }
+    }
+
+    private void backfillStreaks() {
+
+        List<Long> userIds = chantingStreakService.findUsersWithoutStreak();
+
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        LoggerUtils.info(logger, "Backfilling chanting streak for {} users", userIds.size());
+
+        userRepository.findAllById(userIds).forEach(user ->
+                chantingStreakService.recalculate(user.getUserId(), user.getCommittedRounds())
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package com.one.kc.chanting.controller;
+
+import com.one.kc.chanting.service.ChantingPartitionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * One-off maintenance operations on chanting storage.
+ */
+@RestController
+@RequestMapping("/api/admin/chanting")
+@PreAuthorize("hasRole('SUPER_ADMIN')")
+public class ChantingAdminController {
+
+    private final ChantingPartitionService chantingPartitionService;
+
+    public ChantingAdminController(ChantingPartitionService chantingPartitionService) {
+        this.chantingPartitionService = chantingPartitionService;
+    }
+
+    /**
+     * Converts the chanting table to monthly partitions; requires
+     * {@code chanting.partition.enabled}. Returns 409 while another
+     * instance is converting or maintaining the table.
+     * Example:
+     * POST /api/admin/chanting/partition
+     */
+    @PostMapping("/partition")
+    public ResponseEntity<Void> partitionTable() {
+        chantingPartitionService.partitionTable();
+        return ResponseEntity.ok().build();
+    }
+}
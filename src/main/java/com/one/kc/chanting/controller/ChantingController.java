@@ -1,19 +1,33 @@
 package com.one.kc.chanting.controller;
 
 import com.one.kc.auth.utils.JwtUtil;
+import com.one.kc.chanting.dto.ChantingBatchResponseDto;
+import com.one.kc.chanting.dto.ChantingChangesDto;
+import com.one.kc.chanting.dto.ChantingCompactDashboardDto;
 import com.one.kc.chanting.dto.ChantingDashboardResponseDto;
 import com.one.kc.chanting.dto.ChantingDto;
+import com.one.kc.chanting.dto.ChantingHeatmapDto;
+import com.one.kc.chanting.dto.CursorPageResponse;
 import com.one.kc.chanting.dto.FacilitatorTodayDto;
 import com.one.kc.chanting.dto.PageResponse;
+import com.one.kc.chanting.service.ChantingExportService;
+import com.one.kc.chanting.service.ChantingHeatmapService;
 import com.one.kc.chanting.service.ChantingService;
+import com.one.kc.chanting.service.ChantingSyncService;
+import com.one.kc.chanting.service.ChantingWriteBehindService;
+import com.one.kc.chanting.service.IdempotencyService;
+import com.one.kc.common.enums.DashboardGranularity;
+import com.one.kc.common.enums.ExportFormat;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -31,16 +45,34 @@ import java.util.List;
 public class ChantingController {
 
     private final ChantingService chantingService;
+    private final ChantingSyncService chantingSyncService;
+    private final ChantingExportService chantingExportService;
+    private final ChantingWriteBehindService chantingWriteBehindService;
+    private final IdempotencyService idempotencyService;
+    private final ChantingHeatmapService chantingHeatmapService;
 
-    public ChantingController(ChantingService chantingService) {
+    public ChantingController(ChantingService chantingService,
+                              ChantingSyncService chantingSyncService,
+                              ChantingExportService chantingExportService,
+                              ChantingWriteBehindService chantingWriteBehindService,
+                              IdempotencyService idempotencyService,
+                              ChantingHeatmapService chantingHeatmapService) {
         this.chantingService = chantingService;
+        this.chantingSyncService = chantingSyncService;
+        this.chantingExportService = chantingExportService;
+        this.chantingWriteBehindService = chantingWriteBehindService;
+        this.idempotencyService = idempotencyService;
+        this.chantingHeatmapService = chantingHeatmapService;
     }
 
     /**
      * Creates a new chanting record.
      *
      * <p>
-     * Generates a unique chanting ID and persists the record.
+     * Generates a unique chanting ID and persists the record. In
+     * write-behind mode the record is queued and 202 Accepted is returned
+     * (503 when the queue is full). Retries carrying the same
+     * {@code Idempotency-Key} replay the first response.
      * </p>
      *
      * @param chantingDto chanting details
@@ -49,9 +81,46 @@ public class ChantingController {
     @PostMapping
     public ResponseEntity<ChantingDto> createChanting(
             @RequestBody ChantingDto chantingDto,
-            @AuthenticationPrincipal Jwt jwt
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotencyService.execute(
+                idempotencyKey,
+                JwtUtil.getUserId(jwt),
+                "chanting:create",
+                chantingDto,
+                ChantingDto.class,
+                () -> chantingWriteBehindService.isEnabled()
+                        ? chantingWriteBehindService.submit(chantingDto, jwt)
+                        : chantingService.createChanting(chantingDto, jwt)
+        );
+    }
+
+    /**
+     * Creates many chanting records in one request.
+     *
+     * <p>
+     * Used by clients replaying entries queued while offline. Every entry
+     * is validated individually and reported back in request order.
+     * </p>
+     *
+     * @param chantingDtoList chanting entries
+     * @return per-entry results
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ChantingBatchResponseDto> createChantingBatch(
+            @RequestBody List<ChantingDto> chantingDtoList,
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey
     ) {
-        return chantingService.createChanting(chantingDto, jwt);
+        return idempotencyService.execute(
+                idempotencyKey,
+                JwtUtil.getUserId(jwt),
+                "chanting:batch",
+                chantingDtoList,
+                ChantingBatchResponseDto.class,
+                () -> chantingService.createChantingBatch(chantingDtoList, jwt)
+        );
     }
 
     /**
@@ -68,10 +137,18 @@ public class ChantingController {
     @PutMapping
     public ResponseEntity<ChantingDto> updateChanting(
             @AuthenticationPrincipal Jwt jwt,
-            @RequestBody ChantingDto chantingDto
+            @RequestBody ChantingDto chantingDto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey
     ) {
 
-        return chantingService.updateChanting(chantingDto, jwt);
+        return idempotencyService.execute(
+                idempotencyKey,
+                JwtUtil.getUserId(jwt),
+                "chanting:update",
+                chantingDto,
+                ChantingDto.class,
+                () -> chantingService.updateChanting(chantingDto, jwt)
+        );
     }
 
     /**
@@ -94,6 +171,62 @@ public class ChantingController {
         return chantingService.getChantingListByUserId(userId, pageable);
     }
 
+    /**
+     * Retrieves chanting records with cursor pagination, newest first.
+     * Example:
+     * GET /api/chanting/cursor?size=20&cursor=MTcwNDA2...
+     *
+     * @param cursor {@code nextCursor} of the previous page, omitted for the first page
+     * @param size   page size
+     * @return {@link CursorPageResponse} of {@link ChantingDto}
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponse<ChantingDto>> getChantingListByUserIdAfterCursor(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        Long userId = JwtUtil.getUserId(jwt);
+        return chantingService.getChantingListByUserIdAfterCursor(userId, cursor, size);
+    }
+
+    /**
+     * Retrieves chanting records created, updated or deleted since a cursor.
+     * Example:
+     * GET /api/chanting/changes?since=MTcwNDA2...&size=200
+     *
+     * @param since {@code nextCursor} of the previous sync, omitted for a full sync
+     * @param size  maximum number of changes
+     * @return {@link ChantingChangesDto}; 410 when {@code since} is older
+     *         than the tombstone retention and a full sync is needed
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ChantingChangesDto> getChanges(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "200") int size
+    ) {
+        Long userId = JwtUtil.getUserId(jwt);
+        return chantingSyncService.getChanges(userId, since, size);
+    }
+
+    /**
+     * Streams the complete chanting history of the user.
+     * Example:
+     * GET /api/chanting/export?format=ndjson
+     *
+     * @param format {@code csv} or {@code ndjson}
+     * @return streamed file download
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportChanting(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(defaultValue = "csv") String format
+    ) {
+        Long userId = JwtUtil.getUserId(jwt);
+        return chantingExportService.export(userId, ExportFormat.from(format));
+    }
+
     /**
      * Retrieves all chanting records by facilitator group.
      *
@@ -110,19 +243,52 @@ public class ChantingController {
 
     /**
      * Dashboard data for chanting chart & stats
+     * Example:
+     * GET /api/chanting/dashboard?fromDate=2023-01-01&granularity=month
      */
     @GetMapping("/dashboard")
     public ResponseEntity<ChantingDashboardResponseDto> getDashboard(
             @AuthenticationPrincipal Jwt jwt,
             @RequestParam(required = false) LocalDate fromDate,
-            @RequestParam(required = false) LocalDate toDate
+            @RequestParam(required = false) LocalDate toDate,
+            @RequestParam(defaultValue = "day") String granularity
     ) {
         Long userId = JwtUtil.getUserId(jwt);
         return ResponseEntity.ok(
-                chantingService.getDashboard(userId, fromDate, toDate)
+                chantingService.getDashboard(userId, fromDate, toDate, DashboardGranularity.from(granularity))
         );
     }
 
+    /**
+     * Compact dashboard: a start date plus one rounds value per day.
+     * Supports conditional GET with If-None-Match (304 when unchanged).
+     */
+    @GetMapping("/dashboard/compact")
+    public ResponseEntity<ChantingCompactDashboardDto> getCompactDashboard(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) LocalDate fromDate,
+            @RequestParam(required = false) LocalDate toDate,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        Long userId = JwtUtil.getUserId(jwt);
+        return chantingService.getCompactDashboard(userId, fromDate, toDate, ifNoneMatch);
+    }
+
+
+    /**
+     * Year calendar of days with chanting and days meeting the commitment.
+     * Example:
+     * GET /api/chanting/heatmap?year=2025
+     */
+    @GetMapping("/heatmap")
+    public ResponseEntity<ChantingHeatmapDto> getHeatmap(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) Integer year
+    ) {
+        Long userId = JwtUtil.getUserId(jwt);
+        return ResponseEntity.ok(chantingHeatmapService.getHeatmap(userId, year));
+    }
+
 
     /**
      * Permanently deletes a chanting record.
@@ -0,0 +1,18 @@
+package com.one.kc.chanting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ChantingBatchResponseDto {
+    private int accepted;
+    private int rejected;
+    private List<ChantingBatchResultDto> results;
+}
@@ -0,0 +1,16 @@
+package com.one.kc.chanting.dto;
+
+import com.one.kc.common.enums.BatchItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChantingBatchResultDto {
+    private int index;
+    private String chantingId;
+    private BatchItemStatus status;
+    private String message;
+}
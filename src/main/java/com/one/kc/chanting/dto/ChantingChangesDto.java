@@ -0,0 +1,19 @@
+package com.one.kc.chanting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ChantingChangesDto {
+    private List<ChantingDto> upserted;
+    private List<String> deletedIds;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,56 @@
+package com.one.kc.chanting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Columnar variant of {@link ChantingDashboardResponseDto}: the daily
+ * series is {@code dailyRounds[i]} for {@code startDate + i} days instead
+ * of one object per day.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ChantingCompactDashboardDto {
+    private Integer committedRounds;
+    private Integer idealRounds;
+    private Integer currentStreak;
+    private Integer longestStreak;
+    private BigDecimal averageRounds;
+    private LocalDate startDate;
+    private int[] dailyRounds;
+    private Integer totalRounds;
+    private Integer totalMahamantras;
+
+    public static ChantingCompactDashboardDto from(ChantingDashboardResponseDto dashboard) {
+
+        // Freshly built dashboards carry the buffer; cached ones are plain lists
+        int[] dailyRounds = dashboard.getChantingDtoList() instanceof DashboardSeries series
+                ? series.toRoundsArray()
+                : dashboard.getChantingDtoList().stream()
+                .mapToInt(DashboardDto::getChantingRounds)
+                .toArray();
+
+        LocalDate startDate = dashboard.getChantingDtoList().isEmpty()
+                ? null
+                : dashboard.getChantingDtoList().getFirst().getChantingDate();
+
+        return ChantingCompactDashboardDto.builder()
+                .committedRounds(dashboard.getCommittedRounds())
+                .idealRounds(dashboard.getIdealRounds())
+                .currentStreak(dashboard.getCurrentStreak())
+                .longestStreak(dashboard.getLongestStreak())
+                .averageRounds(dashboard.getAverageRounds())
+                .startDate(startDate)
+                .dailyRounds(dailyRounds)
+                .totalRounds(dashboard.getTotalRounds())
+                .totalMahamantras(dashboard.getTotalMahamantras())
+                .build();
+    }
+}
@@ -15,7 +15,16 @@ import java.util.List;
 public class ChantingDashboardResponseDto {
     private Integer committedRounds;
     private Integer idealRounds;
+
+    /**
+     * Consecutive days, ending today or yesterday, whose total reached
+     * the committed rounds. A day needs at least one round even when no
+     * commitment is set.
+     */
     private Integer currentStreak;
+
+    /** Longest such run ever. */
+    private Integer longestStreak;
     private BigDecimal averageRounds;
     private List<DashboardDto> chantingDtoList;
     private Integer totalRounds;
@@ -0,0 +1,14 @@
+package com.one.kc.chanting.dto;
+
+import java.time.Instant;
+
+/**
+ * Flat projection streamed by the chanting export; avoids hydrating
+ * {@code Chanting} entities into the persistence context.
+ */
+public record ChantingExportRow(
+        Long chantingId,
+        Instant chantingAt,
+        Integer chantingRounds
+) {
+}
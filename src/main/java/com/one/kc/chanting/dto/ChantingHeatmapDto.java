@@ -0,0 +1,27 @@
+package com.one.kc.chanting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Calendar of one year: {@code days[i]} is day {@code i + 1} of the year,
+ * 0 = no chanting, 1 = chanted, 2 = met the commitment.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ChantingHeatmapDto {
+    private Integer year;
+    private Integer committedRounds;
+    private Long metDays;
+    private Long chantedDays;
+    private Integer currentStreak;
+    private Integer longestStreak;
+    private LocalDate firstMetDate;
+    private int[] days;
+}
@@ -0,0 +1,27 @@
+package com.one.kc.chanting.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Outbox payload: a user's total for one day changed.
+ *
+ * @param committedRounds the user's commitment at write time
+ * @param facilitatorId the user's facilitator at write time, may be null
+ * @param rootGroupId the user's root group at write time, may be null
+ * @param today the user's today at write time
+ */
+public record ChantingRoundsChangedEvent(
+        Long userId,
+        Integer committedRounds,
+        Long facilitatorId,
+        Long rootGroupId,
+        LocalDate localDate,
+        LocalDate today,
+        int previousTotal,
+        int newTotal
+) {
+
+    public int delta() {
+        return newTotal - previousTotal;
+    }
+}
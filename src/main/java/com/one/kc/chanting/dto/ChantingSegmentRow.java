@@ -0,0 +1,23 @@
+package com.one.kc.chanting.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One chanting record as stored in a cold-storage segment file.
+ */
+public record ChantingSegmentRow(
+        Long chantingId,
+        Instant chantingAt,
+        Integer chantingRounds,
+        LocalDate chantingLocalDate
+) {
+
+    public ChantingExportRow toExportRow() {
+        return new ChantingExportRow(chantingId, chantingAt, chantingRounds);
+    }
+
+    public ChantingDto toDto() {
+        return new ChantingDto(String.valueOf(chantingId), chantingRounds, chantingAt);
+    }
+}
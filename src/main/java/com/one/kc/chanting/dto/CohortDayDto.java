@@ -0,0 +1,24 @@
+package com.one.kc.chanting.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CohortDayDto {
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate chantingDate;
+    private Long totalRounds;
+    private BigDecimal averageRounds;
+    private Long activeUsers;
+    private Long committedUsers;
+    private BigDecimal committedShare;
+}
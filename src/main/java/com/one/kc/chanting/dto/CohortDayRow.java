@@ -0,0 +1,14 @@
+package com.one.kc.chanting.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One day of the facilitator cohort aggregate, as grouped in the database.
+ */
+public record CohortDayRow(
+        LocalDate localDate,
+        Long totalRounds,
+        Long activeUsers,
+        Long committedUsers
+) {
+}
@@ -0,0 +1,54 @@
+package com.one.kc.chanting.dto;
+
+import com.one.kc.common.enums.DashboardGranularity;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only {@link DashboardDto} view of a rounds buffer. Each element is
+ * created on access, so a dashboard holds one {@code int[]} until it is
+ * serialized.
+ */
+public class DashboardSeries extends AbstractList<DashboardDto> implements RandomAccess {
+
+    private final LocalDate firstBucketStart;
+    private final int[] rounds;
+    private final DashboardGranularity granularity;
+
+    public DashboardSeries(
+            LocalDate firstBucketStart,
+            int[] rounds,
+            DashboardGranularity granularity
+    ) {
+        this.firstBucketStart = firstBucketStart;
+        this.rounds = rounds;
+        this.granularity = granularity;
+    }
+
+    @Override
+    public DashboardDto get(int index) {
+        return new DashboardDto(rounds[index], granularity.bucketStart(firstBucketStart, index));
+    }
+
+    @Override
+    public int size() {
+        return rounds.length;
+    }
+
+    public LocalDate getFirstBucketStart() {
+        return firstBucketStart;
+    }
+
+    public DashboardGranularity getGranularity() {
+        return granularity;
+    }
+
+    /**
+     * Copy of the underlying buffer.
+     */
+    public int[] toRoundsArray() {
+        return rounds.clone();
+    }
+}
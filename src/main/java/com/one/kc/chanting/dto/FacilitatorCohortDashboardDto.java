@@ -0,0 +1,20 @@
+package com.one.kc.chanting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FacilitatorCohortDashboardDto {
+    private Long userCount;
+    private Long totalRounds;
+    private BigDecimal averageRounds;
+    private List<CohortDayDto> days;
+}
@@ -0,0 +1,12 @@
+package com.one.kc.chanting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class FacilitatorUserRoundsDto {
+
+    private Long userId;
+    private Long totalRounds;
+}
@@ -0,0 +1,28 @@
+package com.one.kc.chanting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Distribution of daily rounds across the users of a root group who
+ * chanted on {@code date}. Percentile keys are "p50", "p90", ...
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GroupDistributionDto {
+    private String rootGroupId;
+    private LocalDate date;
+    private Long userCount;
+    private Integer minRounds;
+    private Integer maxRounds;
+    private BigDecimal averageRounds;
+    private Map<String, Integer> percentiles;
+}
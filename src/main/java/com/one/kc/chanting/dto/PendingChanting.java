@@ -0,0 +1,29 @@
+package com.one.kc.chanting.dto;
+
+import java.time.Instant;
+
+/**
+ * Chanting accepted in write-behind mode and not yet stored in MySQL.
+ * Also the line format of the write-behind journal.
+ */
+public record PendingChanting(
+        Long chantingId,
+        Long userId,
+        Instant chantingAt,
+        Integer chantingRounds
+) {
+
+    public String toJournalLine() {
+        return chantingId + "," + userId + "," + chantingAt + "," + chantingRounds + "\n";
+    }
+
+    public static PendingChanting fromJournalLine(String line) {
+        String[] parts = line.split(",");
+        return new PendingChanting(
+                Long.parseLong(parts[0]),
+                Long.parseLong(parts[1]),
+                Instant.parse(parts[2]),
+                Integer.parseInt(parts[3])
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package com.one.kc.chanting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserPercentileDto {
+    private String userId;
+    private LocalDate date;
+    private Integer rounds;
+    private BigDecimal percentileRank;
+    private Long groupUserCount;
+}
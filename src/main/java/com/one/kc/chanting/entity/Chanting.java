@@ -3,12 +3,23 @@ package com.one.kc.chanting.entity;
 import com.one.kc.common.utils.AuditEntity;
 import com.one.kc.user.entity.User;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
+import java.time.LocalDate;
 
+/**
+ * Optionally range-partitioned by month on {@code chanting_at}, see
+ * {@code ChantingPartitionService}. MySQL requires the partition column in
+ * the primary key and allows no foreign keys on partitioned tables, so the
+ * conversion changes the database key to (chanting_id, chanting_at) and
+ * drops {@code fk_chanting_user}; schema update then logs a warning when
+ * it cannot add the key back.
+ */
 @Entity
 @Table(
         name = "chanting",
@@ -17,19 +28,30 @@ import java.time.Instant;
                         name = "idx_chanting_user_time",
                         columnList = "user_id, chanting_at"
                 ),
+                @Index(
+                        name = "idx_chanting_user_local_date",
+                        columnList = "user_id, chanting_local_date"
+                ),
                 @Index(
                         name = "idx_chanting_time",
                         columnList = "chanting_at"
+                ),
+                @Index(
+                        name = "idx_chanting_user_updated",
+                        columnList = "user_id, updated_at"
                 )
         }
 )
 @Getter
 @Setter
 @EqualsAndHashCode(callSuper = true, onlyExplicitlyIncluded = true)
-public class Chanting extends AuditEntity {
+public class Chanting extends AuditEntity implements Persistable<Long> {
 
+    /**
+     * Assigned from {@code SnowflakeIdGenerator} before persisting.
+     * IDENTITY generation would force Hibernate to insert row by row.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     @EqualsAndHashCode.Include
     private Long chantingId;
 
@@ -46,4 +68,36 @@ public class Chanting extends AuditEntity {
 
     @Column(nullable = false)
     private Instant chantingAt;
-}
\ No newline at end of file
+
+    /**
+     * Day of {@link #chantingAt} in the user's time zone, resolved at write
+     * time so day-bucketing queries are index range scans.
+     */
+    @Column(name = "chanting_local_date")
+    private LocalDate chantingLocalDate;
+
+    /**
+     * Assigned IDs make Spring Data treat every entity as existing and
+     * issue a SELECT before the INSERT; track newness explicitly instead.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    public Long getId() {
+        return chantingId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
@@ -0,0 +1,47 @@
+package com.one.kc.chanting.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Per-user, per-day rollup of chanting rounds.
+ *
+ * <p>
+ * Maintained incrementally by {@code ChantingService} in the same
+ * transaction as the chanting write, so dashboards read one row per
+ * day instead of every chanting record.
+ * </p>
+ */
+@Entity
+@Table(name = "chanting_daily_summary")
+@IdClass(ChantingDailySummaryId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ChantingDailySummary {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "local_date", nullable = false)
+    private LocalDate localDate;
+
+    @Column(nullable = false)
+    private Integer rounds;
+}
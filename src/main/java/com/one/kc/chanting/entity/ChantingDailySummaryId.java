@@ -0,0 +1,16 @@
+package com.one.kc.chanting.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChantingDailySummaryId implements Serializable {
+    private Long userId;
+    private LocalDate localDate;
+}
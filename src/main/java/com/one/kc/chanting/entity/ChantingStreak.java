@@ -0,0 +1,45 @@
+package com.one.kc.chanting.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Persisted streak state of a user.
+ *
+ * <p>
+ * {@code currentStreak} is the length of the most recent run of
+ * consecutive qualifying days, ending at {@code lastQualifyingDate}.
+ * The run only counts as "current" while that date is today or yesterday.
+ * </p>
+ */
+@Entity
+@Table(name = "chanting_streak")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ChantingStreak {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private Integer currentStreak;
+
+    private LocalDate lastQualifyingDate;
+
+    @Column(nullable = false)
+    private Integer longestStreak;
+}
@@ -0,0 +1,82 @@
+package com.one.kc.chanting.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Marker left behind when a chanting record is deleted, so offline
+ * clients syncing through the change feed learn about the deletion.
+ * Purged after {@code chanting.tombstone.retention}.
+ */
+@Entity
+@Table(
+        name = "chanting_tombstone",
+        indexes = {
+                @Index(
+                        name = "idx_tombstone_user_deleted",
+                        columnList = "user_id, deleted_at"
+                )
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ChantingTombstone implements Persistable<Long> {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "chanting_id")
+    private Long chantingId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    /**
+     * The ID is the deleted record's; without this Spring Data would
+     * merge, i.e. SELECT before every INSERT.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    public ChantingTombstone(Long chantingId, Long userId, Instant deletedAt) {
+        this.chantingId = chantingId;
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+
+    @Override
+    public Long getId() {
+        return chantingId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
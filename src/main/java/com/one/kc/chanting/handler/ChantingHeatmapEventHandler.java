@@ -0,0 +1,45 @@
+package com.one.kc.chanting.handler;
+
+import com.one.kc.chanting.dto.ChantingRoundsChangedEvent;
+import com.one.kc.chanting.service.ChantingHeatmapService;
+import com.one.kc.common.enums.OutboxEventType;
+import com.one.kc.outbox.entity.OutboxEvent;
+import com.one.kc.outbox.handler.OutboxEventHandler;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Sets the changed day's bits in the user's year heatmap.
+ */
+@Component
+public class ChantingHeatmapEventHandler implements OutboxEventHandler {
+
+    private final ChantingHeatmapService chantingHeatmapService;
+    private final JsonMapper jsonMapper;
+
+    public ChantingHeatmapEventHandler(
+            ChantingHeatmapService chantingHeatmapService,
+            JsonMapper jsonMapper
+    ) {
+        this.chantingHeatmapService = chantingHeatmapService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public OutboxEventType getEventType() {
+        return OutboxEventType.CHANTING_ROUNDS_CHANGED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+
+        ChantingRoundsChangedEvent change =
+                jsonMapper.readValue(event.getPayload(), ChantingRoundsChangedEvent.class);
+
+        chantingHeatmapService.update(
+                change.userId(),
+                change.localDate(),
+                change.committedRounds()
+        );
+    }
+}
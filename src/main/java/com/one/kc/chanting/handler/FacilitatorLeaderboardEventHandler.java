@@ -0,0 +1,50 @@
+package com.one.kc.chanting.handler;
+
+import com.one.kc.chanting.dto.ChantingRoundsChangedEvent;
+import com.one.kc.chanting.service.FacilitatorLeaderboardService;
+import com.one.kc.common.enums.OutboxEventType;
+import com.one.kc.outbox.entity.OutboxEvent;
+import com.one.kc.outbox.handler.OutboxEventHandler;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Copies a user's committed today total to their facilitator's
+ * leaderboard.
+ */
+@Component
+public class FacilitatorLeaderboardEventHandler implements OutboxEventHandler {
+
+    private final FacilitatorLeaderboardService facilitatorLeaderboardService;
+    private final JsonMapper jsonMapper;
+
+    public FacilitatorLeaderboardEventHandler(
+            FacilitatorLeaderboardService facilitatorLeaderboardService,
+            JsonMapper jsonMapper
+    ) {
+        this.facilitatorLeaderboardService = facilitatorLeaderboardService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public OutboxEventType getEventType() {
+        return OutboxEventType.CHANTING_ROUNDS_CHANGED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+
+        ChantingRoundsChangedEvent change =
+                jsonMapper.readValue(event.getPayload(), ChantingRoundsChangedEvent.class);
+
+        if (change.facilitatorId() == null || !change.localDate().equals(change.today())) {
+            return;
+        }
+
+        facilitatorLeaderboardService.update(
+                change.facilitatorId(),
+                change.userId(),
+                change.localDate()
+        );
+    }
+}
@@ -0,0 +1,50 @@
+package com.one.kc.chanting.handler;
+
+import com.one.kc.chanting.dto.ChantingRoundsChangedEvent;
+import com.one.kc.chanting.service.GroupDistributionService;
+import com.one.kc.common.enums.OutboxEventType;
+import com.one.kc.outbox.entity.OutboxEvent;
+import com.one.kc.outbox.handler.OutboxEventHandler;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Moves a user to their committed daily total in their root group's
+ * distribution.
+ */
+@Component
+public class GroupDistributionEventHandler implements OutboxEventHandler {
+
+    private final GroupDistributionService groupDistributionService;
+    private final JsonMapper jsonMapper;
+
+    public GroupDistributionEventHandler(
+            GroupDistributionService groupDistributionService,
+            JsonMapper jsonMapper
+    ) {
+        this.groupDistributionService = groupDistributionService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public OutboxEventType getEventType() {
+        return OutboxEventType.CHANTING_ROUNDS_CHANGED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+
+        ChantingRoundsChangedEvent change =
+                jsonMapper.readValue(event.getPayload(), ChantingRoundsChangedEvent.class);
+
+        if (change.rootGroupId() == null) {
+            return;
+        }
+
+        groupDistributionService.update(
+                change.rootGroupId(),
+                change.userId(),
+                change.localDate()
+        );
+    }
+}
@@ -0,0 +1,215 @@
+package com.one.kc.chanting.repository;
+
+import com.one.kc.chanting.dto.CohortDayRow;
+import com.one.kc.chanting.dto.FacilitatorUserRoundsDto;
+import com.one.kc.chanting.entity.ChantingDailySummary;
+import com.one.kc.chanting.entity.ChantingDailySummaryId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ChantingDailySummaryRepository
+        extends JpaRepository<ChantingDailySummary, ChantingDailySummaryId> {
+
+    List<ChantingDailySummary> findByUserIdAndLocalDateBetweenOrderByLocalDateAsc(
+            Long userId,
+            LocalDate fromDate,
+            LocalDate toDate
+    );
+
+    List<ChantingDailySummary> findByUserIdInAndLocalDateBetween(
+            Collection<Long> userIds,
+            LocalDate fromDate,
+            LocalDate toDate
+    );
+
+    List<ChantingDailySummary> findByUserIdInAndLocalDateLessThanEqual(
+            Collection<Long> userIds,
+            LocalDate toDate
+    );
+
+    @Query("""
+        select min(s.localDate)
+        from ChantingDailySummary s
+        where s.userId = :userId
+          and s.rounds > 0
+    """)
+    Optional<LocalDate> findMinLocalDateByUserId(@Param("userId") Long userId);
+
+    @Query("""
+        select s.rounds
+        from ChantingDailySummary s
+        where s.userId = :userId
+          and s.localDate = :localDate
+    """)
+    Optional<Integer> findRounds(
+            @Param("userId") Long userId,
+            @Param("localDate") LocalDate localDate
+    );
+
+    @Query("""
+        select s.localDate
+        from ChantingDailySummary s
+        where s.userId = :userId
+          and s.rounds >= :minRounds
+        order by s.localDate
+    """)
+    List<LocalDate> findQualifyingDates(
+            @Param("userId") Long userId,
+            @Param("minRounds") int minRounds
+    );
+
+    /**
+     * Atomically adds {@code delta} rounds to the user's day, creating the
+     * row on first write. Runs in the caller's transaction.
+     *
+     * <p>
+     * The native spaces hint limits Hibernate's cache invalidation to this
+     * table; without it every second-level cache region is cleared.
+     * </p>
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "chanting_daily_summary"))
+    @Query(
+            value = """
+        INSERT INTO chanting_daily_summary (user_id, local_date, rounds)
+        VALUES (:userId, :localDate, :delta)
+        ON DUPLICATE KEY UPDATE rounds = rounds + :delta
+        """,
+            nativeQuery = true
+    )
+    void addRounds(
+            @Param("userId") Long userId,
+            @Param("localDate") LocalDate localDate,
+            @Param("delta") int delta
+    );
+
+    /**
+     * Recreates the user's rows from the raw chanting table, grouped on
+     * the stored local date. Expects the user's rows to be deleted first.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "chanting_daily_summary"))
+    @Query(
+            value = """
+        INSERT INTO chanting_daily_summary (user_id, local_date, rounds)
+        SELECT c.user_id, c.chanting_local_date, SUM(c.chanting_rounds)
+        FROM chanting c
+        WHERE c.user_id = :userId
+        GROUP BY c.user_id, c.chanting_local_date
+        """,
+            nativeQuery = true
+    )
+    int insertFromChanting(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("""
+        delete from ChantingDailySummary s
+        where s.userId = :userId
+    """)
+    void deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Daily totals of the root group's users who chanted on the day. Each
+     * row is {@code [userId, rounds]}.
+     */
+    @Query("""
+        SELECT s.userId, s.rounds
+        FROM ChantingDailySummary s
+        JOIN User u
+             ON u.userId = s.userId
+        WHERE u.rootGroup.groupId = :rootGroupId
+          AND s.localDate = :localDate
+          AND s.rounds > 0
+    """)
+    List<Object[]> findRootGroupDailyTotals(
+            @Param("rootGroupId") Long rootGroupId,
+            @Param("localDate") LocalDate localDate
+    );
+
+    @Query("""
+        SELECT new com.one.kc.chanting.dto.FacilitatorUserRoundsDto(
+             u.userId,
+             COALESCE(SUM(s.rounds), 0)
+        )
+        FROM User u
+        LEFT JOIN ChantingDailySummary s
+             ON s.userId = u.userId
+             AND s.localDate = :localDate
+        WHERE u.facilitator.userId = :facilitatorId
+        GROUP BY u.userId
+    """)
+    List<FacilitatorUserRoundsDto> findFacilitatorUsersRounds(
+            @Param("facilitatorId") Long facilitatorId,
+            @Param("localDate") LocalDate localDate
+    );
+
+    /**
+     * Rounds per week, month or year bucket, each labelled by its first
+     * day (weeks start on Monday). Only buckets with chanting are returned.
+     *
+     * @return rows of [bucket start (DATE), rounds]
+     */
+    @Query(
+            value = """
+        SELECT b.bucket_start, SUM(b.rounds)
+        FROM (
+            SELECT CASE :granularity
+                       WHEN 'WEEK'  THEN DATE_SUB(s.local_date, INTERVAL WEEKDAY(s.local_date) DAY)
+                       WHEN 'MONTH' THEN DATE_SUB(s.local_date, INTERVAL DAYOFMONTH(s.local_date) - 1 DAY)
+                       WHEN 'YEAR'  THEN MAKEDATE(YEAR(s.local_date), 1)
+                       ELSE s.local_date
+                   END AS bucket_start,
+                   s.rounds
+            FROM chanting_daily_summary s
+            WHERE s.user_id = :userId
+              AND s.local_date BETWEEN :fromDate AND :toDate
+        ) b
+        GROUP BY b.bucket_start
+        ORDER BY b.bucket_start
+        """,
+            nativeQuery = true
+    )
+    List<Object[]> findBucketTotals(
+            @Param("userId") Long userId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate,
+            @Param("granularity") String granularity
+    );
+
+    /**
+     * Per-day totals, active users and users meeting their commitment
+     * across all users of a facilitator. A day meets the commitment as in
+     * {@code ChantingStreakService.minimumRounds}: without a commitment
+     * any chanting does, which the {@code rounds > 0} filter implies.
+     */
+    @Query("""
+        SELECT new com.one.kc.chanting.dto.CohortDayRow(
+             s.localDate,
+             SUM(s.rounds),
+             COUNT(s.userId),
+             SUM(CASE WHEN s.rounds >= COALESCE(u.committedRounds, 1) THEN 1 ELSE 0 END)
+        )
+        FROM ChantingDailySummary s
+        JOIN User u ON u.userId = s.userId
+        WHERE u.facilitator.userId = :facilitatorId
+          AND s.localDate BETWEEN :fromDate AND :toDate
+          AND s.rounds > 0
+        GROUP BY s.localDate
+        ORDER BY s.localDate
+    """)
+    List<CohortDayRow> findCohortDays(
+            @Param("facilitatorId") Long facilitatorId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate
+    );
+}
@@ -1,21 +1,55 @@
 package com.one.kc.chanting.repository;
 
+import com.one.kc.chanting.dto.ChantingExportRow;
 import com.one.kc.chanting.dto.FacilitatorTodayDto;
 import com.one.kc.chanting.entity.Chanting;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ChantingRepository extends JpaRepository<Chanting, Long> {
     Page<Chanting> findByUser_UserId(Long userId, Pageable pageable);
 
+    List<Chanting> findByUser_UserIdAndChantingLocalDateIsNull(Long userId);
+
+    @Query("""
+        select c.chantingId
+        from Chanting c
+        where c.chantingId in :chantingIds
+    """)
+    List<Long> findExistingIds(@Param("chantingIds") Collection<Long> chantingIds);
+
+    @Query("""
+        select distinct c.user.userId
+        from Chanting c
+        where c.chantingLocalDate is null
+    """)
+    List<Long> findUserIdsWithoutLocalDate();
+
+    @Query("""
+        select distinct c.user.userId
+        from Chanting c
+        where not exists (
+            select 1
+            from ChantingDailySummary s
+            where s.userId = c.user.userId
+        )
+    """)
+    List<Long> findUserIdsWithoutDailySummary();
+
 
     List<Chanting> findByUser_UserIdAndChantingAtBetweenOrderByChantingAtAsc(
             Long userId,
@@ -24,6 +58,90 @@ public interface ChantingRepository extends JpaRepository<Chanting, Long> {
     );
 
 
+    // =========================================================
+    // Keyset pagination on idx_chanting_user_time
+    // =========================================================
+
+    @Query("""
+        select c
+        from Chanting c
+        where c.user.userId = :userId
+        order by c.chantingAt desc, c.chantingId desc
+    """)
+    List<Chanting> findLatestByUserId(
+            @Param("userId") Long userId,
+            Limit limit
+    );
+
+    @Query("""
+        select c
+        from Chanting c
+        where c.user.userId = :userId
+          and c.chantingAt <= :chantingAt
+          and (c.chantingAt < :chantingAt
+               or c.chantingId < :chantingId)
+        order by c.chantingAt desc, c.chantingId desc
+    """)
+    List<Chanting> findByUserIdBefore(
+            @Param("userId") Long userId,
+            @Param("chantingAt") Instant chantingAt,
+            @Param("chantingId") Long chantingId,
+            Limit limit
+    );
+
+    // =========================================================
+    // Change feed on idx_chanting_user_updated
+    // =========================================================
+
+    @Query("""
+        select c
+        from Chanting c
+        where c.user.userId = :userId
+          and c.updatedAt >= :since
+          and (c.updatedAt > :since
+               or c.chantingId > :chantingId)
+          and c.updatedAt < :until
+        order by c.updatedAt asc, c.chantingId asc
+    """)
+    List<Chanting> findChangedSince(
+            @Param("userId") Long userId,
+            @Param("since") Instant since,
+            @Param("chantingId") Long chantingId,
+            @Param("until") Instant until,
+            Limit limit
+    );
+
+    /**
+     * Forward-only stream of a user's full history, oldest first.
+     * MySQL Connector/J streams row by row when the fetch size is
+     * Integer.MIN_VALUE; must be consumed inside a read-only transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        select new com.one.kc.chanting.dto.ChantingExportRow(
+            c.chantingId,
+            c.chantingAt,
+            c.chantingRounds
+        )
+        from Chanting c
+        where c.user.userId = :userId
+        order by c.chantingAt asc, c.chantingId asc
+    """)
+    Stream<ChantingExportRow> streamByUserId(@Param("userId") Long userId);
+
+    /**
+     * Index-only lookup on idx_chanting_user_updated.
+     */
+    @Query("""
+        select max(c.updatedAt)
+        from Chanting c
+        where c.user.userId = :userId
+    """)
+    Optional<Instant> findLastUpdatedAt(@Param("userId") Long userId);
+
     @Query("""
         select min(c.chantingAt)
         from Chanting c
@@ -41,7 +159,9 @@ public interface ChantingRepository extends JpaRepository<Chanting, Long> {
        FROM User u
        LEFT JOIN Chanting c
             ON c.user = u
-            AND c.chantingAt BETWEEN :start AND :end
+            AND c.chantingLocalDate = :localDate
+            AND c.chantingAt >= :notBefore
+            AND c.chantingAt < :notAfter
        WHERE u.facilitator.userId = :facilitatorId
        GROUP BY u.userId, u.firstName, u.lastName
        ORDER BY COALESCE(SUM(c.chantingRounds), 0) DESC
@@ -54,8 +174,9 @@ public interface ChantingRepository extends JpaRepository<Chanting, Long> {
     )
     Page<FacilitatorTodayDto> findFacilitatorUsersTodayChanting(
             @Param("facilitatorId") Long facilitatorId,
-            @Param("start") Instant start,
-            @Param("end") Instant end,
+            @Param("localDate") LocalDate localDate,
+            @Param("notBefore") Instant notBefore,
+            @Param("notAfter") Instant notAfter,
             Pageable pageable
     );
 
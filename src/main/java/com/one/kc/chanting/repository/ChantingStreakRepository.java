@@ -0,0 +1,53 @@
+package com.one.kc.chanting.repository;
+
+import com.one.kc.chanting.entity.ChantingStreak;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ChantingStreakRepository extends JpaRepository<ChantingStreak, Long> {
+
+    @Query("""
+        select distinct s.userId
+        from ChantingDailySummary s
+        where not exists (
+            select 1
+            from ChantingStreak st
+            where st.userId = s.userId
+        )
+    """)
+    List<Long> findUserIdsWithoutStreak();
+
+    /**
+     * Creates an empty streak unless the user has one. A concurrent first
+     * write waits for the other transaction instead of failing on the
+     * primary key.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "chanting_streak"))
+    @Query(
+            value = """
+        INSERT IGNORE INTO chanting_streak (user_id, current_streak, longest_streak)
+        VALUES (:userId, 0, 0)
+        """,
+            nativeQuery = true
+    )
+    void insertIfAbsent(@Param("userId") Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        select s
+        from ChantingStreak s
+        where s.userId = :userId
+    """)
+    Optional<ChantingStreak> findForUpdate(@Param("userId") Long userId);
+}
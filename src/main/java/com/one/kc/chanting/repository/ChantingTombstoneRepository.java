@@ -0,0 +1,47 @@
+package com.one.kc.chanting.repository;
+
+import com.one.kc.chanting.entity.ChantingTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface ChantingTombstoneRepository extends JpaRepository<ChantingTombstone, Long> {
+
+    @Query("""
+        select t
+        from ChantingTombstone t
+        where t.userId = :userId
+          and t.deletedAt >= :since
+          and (t.deletedAt > :since
+               or t.chantingId > :chantingId)
+          and t.deletedAt < :until
+        order by t.deletedAt asc, t.chantingId asc
+    """)
+    List<ChantingTombstone> findDeletedSince(
+            @Param("userId") Long userId,
+            @Param("since") Instant since,
+            @Param("chantingId") Long chantingId,
+            @Param("until") Instant until,
+            Limit limit
+    );
+
+    @Query("""
+        select max(t.deletedAt)
+        from ChantingTombstone t
+        where t.userId = :userId
+    """)
+    Optional<Instant> findLastDeletedAt(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("""
+        delete from ChantingTombstone t
+        where t.deletedAt < :before
+    """)
+    int deleteOlderThan(@Param("before") Instant before);
+}
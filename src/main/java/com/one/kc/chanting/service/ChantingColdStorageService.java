@@ -0,0 +1,391 @@
+package com.one.kc.chanting.service;
+
+import com.one.kc.chanting.config.ChantingConfigProperties;
+import com.one.kc.chanting.dto.ChantingSegmentRow;
+import com.one.kc.common.utils.LoggerUtils;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold storage for chanting that left the live table.
+ *
+ * <p>
+ * Off by default. When enabled, {@code directory} must be a shared,
+ * durable volume mounted on every instance (see {@link #STORAGE_MARKER}).
+ * </p>
+ *
+ * <p>
+ * Rows moved to {@code chanting_archive} by {@link ChantingPartitionService}
+ * are compacted into gzip segment files on local disk, one per user and
+ * UTC year ({@code {directory}/{userId}/{year}.csv.gz}), ordered by
+ * (chantingAt, chantingId). History reads merge these segments with the
+ * live table; dashboards keep using the daily summary, which retains the
+ * archived rounds.
+ * </p>
+ */
+@Service
+public class ChantingColdStorageService {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(ChantingColdStorageService.class);
+
+    private static final String ARCHIVE_TABLE = "chanting_archive";
+    private static final String SEGMENT_SUFFIX = ".csv.gz";
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    /**
+     * Created once by operators on the provisioned volume. Its absence
+     * means the directory is not the shared, durable storage (e.g. a
+     * fresh container-local path) and the application refuses to start.
+     */
+    public static final String STORAGE_MARKER = ".kc-cold-storage";
+
+    public static final Comparator<ChantingSegmentRow> CHRONOLOGICAL =
+            Comparator.comparing(ChantingSegmentRow::chantingAt)
+                    .thenComparing(ChantingSegmentRow::chantingId);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChantingConfigProperties chantingConfigProperties;
+
+    public ChantingColdStorageService(
+            JdbcTemplate jdbcTemplate,
+            ChantingConfigProperties chantingConfigProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chantingConfigProperties = chantingConfigProperties;
+    }
+
+    /**
+     * Archived rows are deleted from MySQL once compacted, so segments
+     * must survive redeploys and be visible to every instance.
+     */
+    @PostConstruct
+    public void verifyStorage() {
+
+        if (!isEnabled()) {
+            return;
+        }
+
+        Path directory = Path.of(chantingConfigProperties.getColdStorage().getDirectory());
+
+        if (!directory.isAbsolute()
+                || !Files.isDirectory(directory)
+                || !Files.isWritable(directory)
+                || !Files.exists(directory.resolve(STORAGE_MARKER))) {
+            throw new IllegalStateException(
+                    "chanting.cold-storage.directory must be an existing, writable, shared volume"
+                            + " containing " + STORAGE_MARKER + ": " + directory
+            );
+        }
+    }
+
+    // =========================================================
+    // Compaction
+    // =========================================================
+
+    /**
+     * Moves every row of {@code chanting_archive} into segment files.
+     * Rows are deleted only after their segment is written; a rerun after
+     * a failure rewrites the same rows without duplicating them.
+     */
+    public void compactArchive() {
+
+        if (!isEnabled() || !archiveTableExists()) {
+            return;
+        }
+
+        List<Long> userIds = jdbcTemplate.queryForList(
+                "SELECT DISTINCT user_id FROM " + ARCHIVE_TABLE,
+                Long.class
+        );
+
+        for (Long userId : userIds) {
+            compactUser(userId);
+        }
+
+        if (!userIds.isEmpty()) {
+            LoggerUtils.info(logger,
+                    "Compacted archived chanting of {} users into segments", userIds.size());
+        }
+    }
+
+    private void compactUser(Long userId) {
+
+        List<ChantingSegmentRow> rows = jdbcTemplate.query(
+                "SELECT chanting_id, chanting_at, chanting_rounds, chanting_local_date"
+                        + " FROM " + ARCHIVE_TABLE
+                        + " WHERE user_id = ?",
+                // Hibernate writes chanting_at in UTC (hibernate.jdbc.time_zone)
+                (rs, rowNum) -> new ChantingSegmentRow(
+                        rs.getLong("chanting_id"),
+                        rs.getObject("chanting_at", LocalDateTime.class).toInstant(ZoneOffset.UTC),
+                        rs.getInt("chanting_rounds"),
+                        rs.getObject("chanting_local_date", LocalDate.class)
+                ),
+                userId
+        );
+
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, List<ChantingSegmentRow>> rowsByYear = rows.stream()
+                .collect(Collectors.groupingBy(
+                        row -> yearOf(row.chantingAt()),
+                        TreeMap::new,
+                        Collectors.toList()
+                ));
+
+        rowsByYear.forEach((year, yearRows) -> mergeIntoSegment(userId, year, yearRows));
+
+        // Exactly the rows written above; rows archived since the SELECT
+        // stay for the next run
+        List<Long> chantingIds = rows.stream()
+                .map(ChantingSegmentRow::chantingId)
+                .toList();
+
+        for (int from = 0; from < chantingIds.size(); from += DELETE_CHUNK_SIZE) {
+
+            List<Long> chunk = chantingIds.subList(
+                    from,
+                    Math.min(from + DELETE_CHUNK_SIZE, chantingIds.size())
+            );
+
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(userId);
+            args.addAll(chunk);
+
+            jdbcTemplate.update(
+                    "DELETE FROM " + ARCHIVE_TABLE
+                            + " WHERE user_id = ? AND chanting_id IN ("
+                            + String.join(",", Collections.nCopies(chunk.size(), "?"))
+                            + ")",
+                    args.toArray()
+            );
+        }
+    }
+
+    private void mergeIntoSegment(Long userId, int year, List<ChantingSegmentRow> rows) {
+
+        // Keyed by id so a rerun after a failed delete stays idempotent
+        Map<Long, ChantingSegmentRow> merged = new LinkedHashMap<>();
+        readSegment(userId, year).forEach(row -> merged.put(row.chantingId(), row));
+        rows.forEach(row -> merged.put(row.chantingId(), row));
+
+        List<ChantingSegmentRow> sorted = merged.values().stream()
+                .sorted(CHRONOLOGICAL)
+                .toList();
+
+        Path segment = segmentPath(userId, year);
+
+        try {
+            Files.createDirectories(segment.getParent());
+
+            Path temp = Files.createTempFile(segment.getParent(), year + "-", ".tmp");
+
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)),
+                    StandardCharsets.UTF_8
+            ))) {
+                for (ChantingSegmentRow row : sorted) {
+                    writer.write(row.chantingId() + "," + row.chantingAt() + ","
+                            + row.chantingRounds() + ","
+                            + Optional.ofNullable(row.chantingLocalDate()).map(LocalDate::toString).orElse("")
+                            + "\n");
+                }
+            }
+
+            Files.move(temp, segment,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write chanting segment " + segment, e);
+        }
+    }
+
+    // =========================================================
+    // Reads
+    // =========================================================
+
+    /**
+     * Exclusive upper bound of the user's archived chanting (start of the
+     * year after the newest segment), or empty when nothing is archived.
+     */
+    public Optional<Instant> findArchivedBefore(Long userId) {
+        return findYears(userId).stream()
+                .max(Integer::compareTo)
+                .map(year -> LocalDate.of(year + 1, 1, 1)
+                        .atStartOfDay(ZoneOffset.UTC)
+                        .toInstant());
+    }
+
+    /**
+     * Archived rows strictly before the position, newest first. Only the
+     * segments of the position's year and earlier are opened.
+     *
+     * @param chantingAt position instant, or null to start from the newest
+     * @param chantingId position id, ignored when chantingAt is null
+     */
+    public List<ChantingSegmentRow> findBefore(
+            Long userId,
+            Instant chantingAt,
+            Long chantingId,
+            int limit
+    ) {
+
+        List<ChantingSegmentRow> result = new ArrayList<>();
+
+        List<Integer> years = findYears(userId).stream()
+                .filter(year -> chantingAt == null || year <= yearOf(chantingAt))
+                .sorted(Comparator.reverseOrder())
+                .toList();
+
+        for (Integer year : years) {
+
+            List<ChantingSegmentRow> rows = new ArrayList<>(readSegment(userId, year));
+
+            for (int i = rows.size() - 1; i >= 0 && result.size() < limit; i--) {
+                ChantingSegmentRow row = rows.get(i);
+                if (chantingAt == null || isBefore(row, chantingAt, chantingId)) {
+                    result.add(row);
+                }
+            }
+
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * All archived rows of a user, oldest first. Segments are opened one
+     * at a time as the stream is consumed.
+     */
+    public Stream<ChantingSegmentRow> stream(Long userId) {
+        return findYears(userId).stream()
+                .sorted()
+                .flatMap(year -> readSegment(userId, year).stream());
+    }
+
+    private boolean isBefore(ChantingSegmentRow row, Instant chantingAt, Long chantingId) {
+        int compare = row.chantingAt().compareTo(chantingAt);
+        return compare < 0 || (compare == 0 && row.chantingId() < chantingId);
+    }
+
+    private List<ChantingSegmentRow> readSegment(Long userId, int year) {
+
+        Path segment = segmentPath(userId, year);
+
+        if (!Files.exists(segment)) {
+            return List.of();
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(segment)),
+                StandardCharsets.UTF_8
+        ))) {
+            return reader.lines()
+                    .filter(line -> !line.isBlank())
+                    .map(this::parseLine)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read chanting segment " + segment, e);
+        }
+    }
+
+    private ChantingSegmentRow parseLine(String line) {
+        String[] parts = line.split(",", -1);
+        return new ChantingSegmentRow(
+                Long.parseLong(parts[0]),
+                Instant.parse(parts[1]),
+                Integer.parseInt(parts[2]),
+                parts[3].isEmpty() ? null : LocalDate.parse(parts[3])
+        );
+    }
+
+    private List<Integer> findYears(Long userId) {
+
+        if (!isEnabled()) {
+            return List.of();
+        }
+
+        Path userDirectory = userDirectory(userId);
+
+        if (!Files.isDirectory(userDirectory)) {
+            return List.of();
+        }
+
+        try (Stream<Path> files = Files.list(userDirectory)) {
+            return files
+                    .map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Integer.valueOf(
+                            name.substring(0, name.length() - SEGMENT_SUFFIX.length())
+                    ))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list chanting segments of user " + userId, e);
+        }
+    }
+
+    private Path userDirectory(Long userId) {
+        return Path.of(chantingConfigProperties.getColdStorage().getDirectory())
+                .resolve(String.valueOf(userId));
+    }
+
+    private Path segmentPath(Long userId, int year) {
+        return userDirectory(userId).resolve(year + SEGMENT_SUFFIX);
+    }
+
+    private int yearOf(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC).getYear();
+    }
+
+    private boolean isEnabled() {
+        return chantingConfigProperties.getColdStorage().isEnabled();
+    }
+
+    private boolean archiveTableExists() {
+        Integer tables = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*)
+                FROM information_schema.TABLES
+                WHERE TABLE_SCHEMA = DATABASE()
+                  AND TABLE_NAME = ?
+                """, Integer.class, ARCHIVE_TABLE);
+        return tables != null && tables > 0;
+    }
+}
@@ -0,0 +1,120 @@
+package com.one.kc.chanting.service;
+
+import com.one.kc.chanting.dto.ChantingExportRow;
+import com.one.kc.chanting.dto.ChantingSegmentRow;
+import com.one.kc.chanting.repository.ChantingRepository;
+import com.one.kc.common.enums.ExportFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's complete chanting history as CSV or NDJSON.
+ *
+ * <p>
+ * Rows come from a forward-only database cursor, merged with archived
+ * segments one year at a time, and are written straight to the response,
+ * so memory stays flat regardless of history size.
+ * </p>
+ */
+@Service
+public class ChantingExportService {
+
+    private static final Comparator<ChantingExportRow> CHRONOLOGICAL =
+            Comparator.comparing(ChantingExportRow::chantingAt)
+                    .thenComparing(ChantingExportRow::chantingId);
+
+    private final ChantingRepository chantingRepository;
+    private final ChantingColdStorageService chantingColdStorageService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ChantingExportService(
+            ChantingRepository chantingRepository,
+            ChantingColdStorageService chantingColdStorageService,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.chantingRepository = chantingRepository;
+        this.chantingColdStorageService = chantingColdStorageService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public ResponseEntity<StreamingResponseBody> export(Long userId, ExportFormat format) {
+
+        // Runs on the async request thread, after the controller returned
+        StreamingResponseBody body = outputStream ->
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    Writer writer = new BufferedWriter(
+                            new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)
+                    );
+
+                    try (Stream<ChantingExportRow> liveRows = chantingRepository.streamByUserId(userId);
+                         Stream<ChantingExportRow> archivedRows = chantingColdStorageService.stream(userId)
+                                 .map(ChantingSegmentRow::toExportRow)) {
+
+                        if (format == ExportFormat.CSV) {
+                            writer.write("chantingId,chantingAt,chantingRounds\n");
+                        }
+
+                        // Both sources are ordered oldest first; merge them lazily
+                        Iterator<ChantingExportRow> archived = archivedRows.iterator();
+                        ChantingExportRow nextArchived = archived.hasNext() ? archived.next() : null;
+
+                        for (Iterator<ChantingExportRow> live = liveRows.iterator(); live.hasNext(); ) {
+                            ChantingExportRow row = live.next();
+                            while (nextArchived != null && CHRONOLOGICAL.compare(nextArchived, row) < 0) {
+                                writeRow(writer, nextArchived, format);
+                                nextArchived = archived.hasNext() ? archived.next() : null;
+                            }
+                            writeRow(writer, row, format);
+                        }
+
+                        while (nextArchived != null) {
+                            writeRow(writer, nextArchived, format);
+                            nextArchived = archived.hasNext() ? archived.next() : null;
+                        }
+
+                        writer.flush();
+
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+        return ResponseEntity.ok()
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"chanting-" + userId + "." + format.getExtension() + "\""
+                )
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
+    }
+
+    private void writeRow(Writer writer, ChantingExportRow row, ExportFormat format) {
+        try {
+            if (format == ExportFormat.CSV) {
+                writer.write(row.chantingId() + "," + row.chantingAt() + "," + row.chantingRounds() + "\n");
+            } else {
+                writer.write("{\"chantingId\":\"" + row.chantingId()
+                        + "\",\"chantingAt\":\"" + row.chantingAt()
+                        + "\",\"chantingRounds\":" + row.chantingRounds() + "}\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.one.kc.chanting.service;
+
+import com.one.kc.chanting.dto.ChantingHeatmapDto;
+import com.one.kc.chanting.entity.ChantingDailySummary;
+import com.one.kc.chanting.repository.ChantingDailySummaryRepository;
+import com.one.kc.common.exceptions.UserFacingException;
+import com.one.kc.common.utils.LoggerUtils;
+import com.one.kc.common.utils.TransactionUtils;
+import com.one.kc.user.entity.User;
+import com.one.kc.user.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Year calendar of a user, kept in one Redis bitmap per user and year.
+ *
+ * <p>
+ * Layout (bit offsets, day = day of year - 1):
+ * - {@code [0, 366)}: the day met the commitment
+ * - {@code [384, 750)}: the day had any chanting
+ * - {@code 767}: always set, so a rebuilt year without chanting still
+ *   exists
+ * A read is one {@code GET} of the 96-byte value; the days, counts and
+ * runs are all derived from it in memory, without SQL.
+ * </p>
+ *
+ * <p>
+ * Chanting writes set the day's bits through the outbox, only if the
+ * bitmap exists; a missing bitmap is rebuilt from the daily summary on
+ * the next read and expires after {@link #REBUILD_TTL}.
+ * </p>
+ */
+@Service
+public class ChantingHeatmapService {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(ChantingHeatmapService.class);
+
+    private static final String HEATMAP_PREFIX = "heatmap:";
+    private static final Duration REBUILD_TTL = Duration.ofDays(7);
+
+    private static final int MET_OFFSET = 0;
+    private static final int CHANTED_OFFSET = 384;
+    private static final int MARKER_OFFSET = 767;
+    private static final int BITMAP_BYTES = (MARKER_OFFSET + 1) / 8;
+    private static final int MIN_YEAR = 2000;
+
+    private static final RedisScript<Long> SET_DAY_IF_EXISTS = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                redis.call('SETBIT', KEYS[1], ARGV[1], ARGV[2])
+                redis.call('SETBIT', KEYS[1], ARGV[3], ARGV[4])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChantingDailySummaryRepository summaryRepository;
+    private final ChantingSummaryService chantingSummaryService;
+    private final UserRepository userRepository;
+
+    public ChantingHeatmapService(
+            StringRedisTemplate redisTemplate,
+            ChantingDailySummaryRepository summaryRepository,
+            ChantingSummaryService chantingSummaryService,
+            UserRepository userRepository
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.summaryRepository = summaryRepository;
+        this.chantingSummaryService = chantingSummaryService;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Sets a day's bits from its committed total. Called by the outbox
+     * relay; reading the current total keeps redelivery and reordering
+     * harmless.
+     */
+    public void update(Long userId, LocalDate date, Integer committedRounds) {
+
+        String key = key(userId, date.getYear());
+        int total = chantingSummaryService.getRounds(userId, date);
+        int day = date.getDayOfYear() - 1;
+
+        try {
+            redisTemplate.execute(
+                    SET_DAY_IF_EXISTS,
+                    List.of(key),
+                    String.valueOf(MET_OFFSET + day),
+                    total >= ChantingStreakService.minimumRounds(committedRounds) ? "1" : "0",
+                    String.valueOf(CHANTED_OFFSET + day),
+                    total > 0 ? "1" : "0"
+            );
+        } catch (RuntimeException e) {
+            // The bitmap would now be wrong; drop it so it gets rebuilt
+            LoggerUtils.error(logger, "Heatmap update failed", e);
+            delete(key);
+        }
+    }
+
+    /**
+     * Drops every year of a user after commit, e.g. when the commitment
+     * changes and "met" has to be re-evaluated.
+     */
+    public void evictAllAfterCommit(Long userId, LocalDate today) {
+
+        int firstYear = chantingSummaryService.getFirstChantingDate(userId)
+                .map(LocalDate::getYear)
+                .orElse(today.getYear());
+
+        List<String> keys = new ArrayList<>();
+        for (int year = Math.min(firstYear, today.getYear()); year <= today.getYear(); year++) {
+            keys.add(key(userId, year));
+        }
+
+        TransactionUtils.afterCommit(() -> {
+            try {
+                redisTemplate.delete(keys);
+            } catch (RuntimeException e) {
+                LoggerUtils.error(logger, "Heatmap eviction failed", e);
+            }
+        });
+    }
+
+    /**
+     * Calendar of a year; defaults to the user's current year.
+     */
+    public ChantingHeatmapDto getHeatmap(Long userId, Integer year) {
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserFacingException("User not found"));
+
+        LocalDate today = chantingSummaryService.today(user);
+        int resolvedYear = year == null ? today.getYear() : year;
+
+        if (resolvedYear > today.getYear()) {
+            throw new UserFacingException("Future year not allowed");
+        }
+        if (resolvedYear < MIN_YEAR) {
+            throw new UserFacingException("Year must be " + MIN_YEAR + " or later");
+        }
+
+        byte[] key = key(userId, resolvedYear).getBytes(StandardCharsets.UTF_8);
+
+        byte[] bitmap = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(key));
+
+        if (bitmap == null) {
+            bitmap = rebuild(user, resolvedYear, key);
+        }
+
+        int daysInYear = LocalDate.ofYearDay(resolvedYear, 1).lengthOfYear();
+        int[] days = new int[daysInYear];
+
+        long metDays = 0;
+        long chantedDays = 0;
+        int firstMetDay = -1;
+
+        for (int day = 0; day < daysInYear; day++) {
+
+            if (isSet(bitmap, CHANTED_OFFSET + day)) {
+                chantedDays++;
+                days[day] = 1;
+            }
+
+            if (isSet(bitmap, MET_OFFSET + day)) {
+                metDays++;
+                days[day] = 2;
+                if (firstMetDay < 0) {
+                    firstMetDay = day;
+                }
+            }
+        }
+
+        return ChantingHeatmapDto.builder()
+                .year(resolvedYear)
+                .committedRounds(user.getCommittedRounds())
+                .metDays(metDays)
+                .chantedDays(chantedDays)
+                .currentStreak(resolvedYear == today.getYear() ? currentRun(days, today) : 0)
+                .longestStreak(longestRun(days))
+                .firstMetDate(firstMetDay < 0 ? null : LocalDate.ofYearDay(resolvedYear, firstMetDay + 1))
+                .days(days)
+                .build();
+    }
+
+    private byte[] rebuild(User user, int year, byte[] key) {
+
+        List<ChantingDailySummary> summaries =
+                summaryRepository.findByUserIdAndLocalDateBetweenOrderByLocalDateAsc(
+                        user.getUserId(),
+                        LocalDate.of(year, 1, 1),
+                        LocalDate.of(year, 12, 31)
+                );
+
+        int minimumRounds = ChantingStreakService.minimumRounds(user.getCommittedRounds());
+        byte[] bitmap = new byte[BITMAP_BYTES];
+
+        for (ChantingDailySummary summary : summaries) {
+            int day = summary.getLocalDate().getDayOfYear() - 1;
+            if (summary.getRounds() >= minimumRounds) {
+                setBit(bitmap, MET_OFFSET + day);
+            }
+            if (summary.getRounds() > 0) {
+                setBit(bitmap, CHANTED_OFFSET + day);
+            }
+        }
+
+        setBit(bitmap, MARKER_OFFSET);
+
+        redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                connection.stringCommands().set(
+                        key,
+                        bitmap,
+                        Expiration.from(REBUILD_TTL),
+                        RedisStringCommands.SetOption.upsert()
+                ));
+
+        return bitmap;
+    }
+
+    /**
+     * Run of met days ending today, or yesterday while today is still open.
+     */
+    private int currentRun(int[] days, LocalDate today) {
+
+        int index = today.getDayOfYear() - 1;
+
+        if (days[index] != 2) {
+            index--;
+        }
+
+        int run = 0;
+        while (index >= 0 && days[index] == 2) {
+            run++;
+            index--;
+        }
+
+        return run;
+    }
+
+    private int longestRun(int[] days) {
+
+        int run = 0;
+        int longest = 0;
+
+        for (int level : days) {
+            run = level == 2 ? run + 1 : 0;
+            longest = Math.max(longest, run);
+        }
+
+        return longest;
+    }
+
+    // Redis bit order: offset 0 is the most significant bit of byte 0
+    private boolean isSet(byte[] bitmap, int offset) {
+        int index = offset >> 3;
+        return index < bitmap.length && (bitmap[index] & (0x80 >> (offset & 7))) != 0;
+    }
+
+    private void setBit(byte[] bitmap, int offset) {
+        bitmap[offset >> 3] |= (byte) (0x80 >> (offset & 7));
+    }
+
+    private void delete(String key) {
+        try {
+            redisTemplate.delete(key);
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Heatmap eviction failed", e);
+        }
+    }
+
+    private String key(Long userId, int year) {
+        return HEATMAP_PREFIX + userId + ":" + year;
+    }
+}
@@ -0,0 +1,427 @@
+package com.one.kc.chanting.service;
+
+import com.one.kc.chanting.config.ChantingConfigProperties;
+import com.one.kc.common.exceptions.UserFacingException;
+import com.one.kc.common.utils.LoggerUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains monthly range partitions of the {@code chanting} table on
+ * {@code chanting_at} (UTC month boundaries).
+ *
+ * <p>
+ * - Converts the table once, on request of an administrator: drops
+ *   foreign keys (for good, MySQL allows none on partitioned tables),
+ *   widens the primary key to (chanting_id, chanting_at) and partitions
+ *   by month
+ * - Keeps {@code monthsAhead} empty partitions ready before a catch-all
+ *   {@code pmax} partition
+ * - Moves partitions older than {@code retentionMonths} to
+ *   {@code chanting_archive} and drops them from the live table; the
+ *   archive is then compacted by {@link ChantingColdStorageService}
+ * </p>
+ *
+ * <p>
+ * Conversion and maintenance hold the MySQL named lock {@link #LOCK_NAME},
+ * so only one instance runs DDL at a time; the others skip.
+ * </p>
+ *
+ * <p>
+ * Queries bounded on {@code chanting_at} (history pages, facilitator
+ * today) only touch the matching partitions. Daily summaries and streaks
+ * are not affected by archival.
+ * </p>
+ */
+@Service
+public class ChantingPartitionService {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(ChantingPartitionService.class);
+
+    private static final String TABLE = "chanting";
+    private static final String ARCHIVE_TABLE = "chanting_archive";
+    private static final String PARTITION_COLUMN = "chanting_at";
+    private static final String MAX_PARTITION = "pmax";
+    private static final String LOCK_NAME = "kc.chanting.partition";
+
+    private static final DateTimeFormatter PARTITION_NAME =
+            DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final DateTimeFormatter DATETIME_LITERAL =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChantingConfigProperties chantingConfigProperties;
+    private final ChantingColdStorageService chantingColdStorageService;
+
+    public ChantingPartitionService(
+            JdbcTemplate jdbcTemplate,
+            ChantingConfigProperties chantingConfigProperties,
+            ChantingColdStorageService chantingColdStorageService
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chantingConfigProperties = chantingConfigProperties;
+        this.chantingColdStorageService = chantingColdStorageService;
+    }
+
+    /**
+     * One-off conversion of the live table followed by a maintenance pass.
+     * No-op once partitioned. Blocks writes to {@code chanting} while the
+     * table is rebuilt, so run it in a quiet period.
+     */
+    public void partitionTable() {
+
+        if (!getPartition().isEnabled()) {
+            throw new UserFacingException("Chanting partitioning is disabled", HttpStatus.CONFLICT);
+        }
+
+        boolean ran;
+
+        try {
+            ran = runLocked(() -> {
+                if (!isPartitioned(TABLE)) {
+                    convert();
+                }
+                runMaintenance();
+            });
+        } catch (DataAccessException | UncheckedIOException e) {
+            LoggerUtils.error(logger, "Chanting partitioning failed", e);
+            throw new UserFacingException("Chanting partitioning failed", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        if (!ran) {
+            throw new UserFacingException("Chanting partitioning is already running", HttpStatus.CONFLICT);
+        }
+    }
+
+    private void convert() {
+
+        dropForeignKeys();
+        ensurePrimaryKeyIncludesPartitionColumn();
+
+        YearMonth first = findOldestMonth().orElseGet(this::currentMonth);
+        YearMonth last = currentMonth().plusMonths(getPartition().getMonthsAhead());
+
+        boolean timestampColumn = isTimestampColumn();
+
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            definitions.add(partitionDefinition(month, timestampColumn));
+        }
+        definitions.add(maxPartitionDefinition());
+
+        jdbcTemplate.execute(
+                "ALTER TABLE " + TABLE
+                        + " PARTITION BY " + partitionExpression(timestampColumn)
+                        + " (" + String.join(", ", definitions) + ")"
+        );
+
+        LoggerUtils.info(logger,
+                "Partitioned {} into {} monthly partitions from {}",
+                TABLE, definitions.size() - 1, first);
+    }
+
+    /**
+     * Daily: prepares upcoming months and archives expired ones.
+     */
+    @Scheduled(cron = "${chanting.partition.cron:0 30 3 * * *}", zone = "UTC")
+    public void maintain() {
+
+        if (!getPartition().isEnabled()) {
+            return;
+        }
+
+        try {
+            if (!runLocked(this::runMaintenance)) {
+                LoggerUtils.info(logger, "Chanting partition maintenance running elsewhere, skipped");
+            }
+        } catch (DataAccessException | UncheckedIOException e) {
+            // Retried next run
+            LoggerUtils.error(logger, "Chanting partition maintenance failed", e);
+        }
+    }
+
+    private void runMaintenance() {
+
+        if (!isPartitioned(TABLE)) {
+            return;
+        }
+
+        addFuturePartitions();
+        archiveExpiredPartitions();
+        // Right away, so archived rows are only briefly outside history reads
+        chantingColdStorageService.compactArchive();
+    }
+
+    /**
+     * Runs the action while this session holds {@link #LOCK_NAME}; returns
+     * false without running it if another session holds the lock. The
+     * action's own statements may use other pooled connections.
+     */
+    private boolean runLocked(Runnable action) {
+
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+
+            try (PreparedStatement lock = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                lock.setString(1, LOCK_NAME);
+                try (ResultSet result = lock.executeQuery()) {
+                    if (!result.next() || result.getInt(1) != 1) {
+                        return false;
+                    }
+                }
+            }
+
+            try {
+                action.run();
+                return true;
+            } finally {
+                try (PreparedStatement release = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    release.setString(1, LOCK_NAME);
+                    release.execute();
+                }
+            }
+        });
+
+        return Boolean.TRUE.equals(ran);
+    }
+
+    private void addFuturePartitions() {
+
+        YearMonth target = currentMonth().plusMonths(getPartition().getMonthsAhead());
+        YearMonth latest = findPartitionMonths().stream()
+                .max(YearMonth::compareTo)
+                .orElseGet(() -> currentMonth().minusMonths(1));
+
+        if (!latest.isBefore(target)) {
+            return;
+        }
+
+        boolean timestampColumn = isTimestampColumn();
+
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth month = latest.plusMonths(1); !month.isAfter(target); month = month.plusMonths(1)) {
+            definitions.add(partitionDefinition(month, timestampColumn));
+        }
+        definitions.add(maxPartitionDefinition());
+
+        // pmax only holds rows beyond the prepared months, so this is cheap
+        jdbcTemplate.execute(
+                "ALTER TABLE " + TABLE
+                        + " REORGANIZE PARTITION " + MAX_PARTITION
+                        + " INTO (" + String.join(", ", definitions) + ")"
+        );
+
+        LoggerUtils.info(logger,
+                "Added {} partitions to {} up to {}", definitions.size() - 1, TABLE, target);
+    }
+
+    private void archiveExpiredPartitions() {
+
+        YearMonth horizon = currentMonth().minusMonths(getPartition().getRetentionMonths());
+
+        List<YearMonth> expired = findPartitionMonths().stream()
+                .filter(month -> month.isBefore(horizon))
+                .sorted()
+                .toList();
+
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        ensureArchiveTable();
+        String columns = String.join(", ", findArchiveColumns());
+
+        for (YearMonth month : expired) {
+
+            String partition = month.format(PARTITION_NAME);
+
+            // INSERT IGNORE makes a retry after a failed DROP harmless
+            int archived = jdbcTemplate.update(
+                    "INSERT IGNORE INTO " + ARCHIVE_TABLE + " (" + columns + ")"
+                            + " SELECT " + columns
+                            + " FROM " + TABLE + " PARTITION (" + partition + ")"
+            );
+
+            jdbcTemplate.execute(
+                    "ALTER TABLE " + TABLE + " DROP PARTITION " + partition
+            );
+
+            LoggerUtils.info(logger,
+                    "Archived partition {} with {} rows", partition, archived);
+        }
+    }
+
+    private void ensureArchiveTable() {
+
+        jdbcTemplate.execute(
+                "CREATE TABLE IF NOT EXISTS " + ARCHIVE_TABLE + " LIKE " + TABLE
+        );
+
+        if (isPartitioned(ARCHIVE_TABLE)) {
+            jdbcTemplate.execute("ALTER TABLE " + ARCHIVE_TABLE + " REMOVE PARTITIONING");
+        }
+    }
+
+    /**
+     * Columns present in both tables, so columns added to the live table
+     * later do not break archival.
+     */
+    private List<String> findArchiveColumns() {
+        return jdbcTemplate.queryForList("""
+                SELECT a.COLUMN_NAME
+                FROM information_schema.COLUMNS a
+                JOIN information_schema.COLUMNS c
+                  ON c.TABLE_SCHEMA = a.TABLE_SCHEMA
+                 AND c.TABLE_NAME = ?
+                 AND c.COLUMN_NAME = a.COLUMN_NAME
+                WHERE a.TABLE_SCHEMA = DATABASE()
+                  AND a.TABLE_NAME = ?
+                ORDER BY a.ORDINAL_POSITION
+                """, String.class, TABLE, ARCHIVE_TABLE);
+    }
+
+    private void dropForeignKeys() {
+
+        List<String> foreignKeys = jdbcTemplate.queryForList("""
+                SELECT CONSTRAINT_NAME
+                FROM information_schema.TABLE_CONSTRAINTS
+                WHERE TABLE_SCHEMA = DATABASE()
+                  AND TABLE_NAME = ?
+                  AND CONSTRAINT_TYPE = 'FOREIGN KEY'
+                """, String.class, TABLE);
+
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute(
+                    "ALTER TABLE " + TABLE + " DROP FOREIGN KEY " + foreignKey
+            );
+        }
+    }
+
+    private void ensurePrimaryKeyIncludesPartitionColumn() {
+
+        List<String> primaryKey = jdbcTemplate.queryForList("""
+                SELECT COLUMN_NAME
+                FROM information_schema.KEY_COLUMN_USAGE
+                WHERE TABLE_SCHEMA = DATABASE()
+                  AND TABLE_NAME = ?
+                  AND CONSTRAINT_NAME = 'PRIMARY'
+                """, String.class, TABLE);
+
+        if (!primaryKey.contains(PARTITION_COLUMN)) {
+            jdbcTemplate.execute(
+                    "ALTER TABLE " + TABLE
+                            + " DROP PRIMARY KEY, ADD PRIMARY KEY (chanting_id, " + PARTITION_COLUMN + ")"
+            );
+        }
+    }
+
+    private boolean isPartitioned(String table) {
+        Integer partitions = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*)
+                FROM information_schema.PARTITIONS
+                WHERE TABLE_SCHEMA = DATABASE()
+                  AND TABLE_NAME = ?
+                  AND PARTITION_NAME IS NOT NULL
+                """, Integer.class, table);
+        return partitions != null && partitions > 0;
+    }
+
+    private List<YearMonth> findPartitionMonths() {
+        return jdbcTemplate.queryForList("""
+                        SELECT PARTITION_NAME
+                        FROM information_schema.PARTITIONS
+                        WHERE TABLE_SCHEMA = DATABASE()
+                          AND TABLE_NAME = ?
+                          AND PARTITION_NAME IS NOT NULL
+                        """, String.class, TABLE).stream()
+                .map(this::parsePartitionMonth)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+
+    private Optional<YearMonth> parsePartitionMonth(String partitionName) {
+        try {
+            return Optional.of(YearMonth.parse(partitionName, PARTITION_NAME));
+        } catch (DateTimeParseException e) {
+            return Optional.empty(); // pmax
+        }
+    }
+
+    /**
+     * Shifted back a day so a session zone offset can only add one empty
+     * partition, never leave old rows without one.
+     */
+    private Optional<YearMonth> findOldestMonth() {
+        String oldest = jdbcTemplate.queryForObject(
+                "SELECT DATE_FORMAT(MIN(" + PARTITION_COLUMN + ") - INTERVAL 1 DAY, '%Y-%m')"
+                        + " FROM " + TABLE,
+                String.class
+        );
+        return Optional.ofNullable(oldest).map(YearMonth::parse);
+    }
+
+    /**
+     * TIMESTAMP columns can only be range-partitioned through
+     * UNIX_TIMESTAMP(); DATETIME columns use RANGE COLUMNS directly.
+     */
+    private boolean isTimestampColumn() {
+        String dataType = jdbcTemplate.queryForObject("""
+                SELECT DATA_TYPE
+                FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE()
+                  AND TABLE_NAME = ?
+                  AND COLUMN_NAME = ?
+                """, String.class, TABLE, PARTITION_COLUMN);
+        return "timestamp".equalsIgnoreCase(dataType);
+    }
+
+    private String partitionExpression(boolean timestampColumn) {
+        return timestampColumn
+                ? "RANGE (UNIX_TIMESTAMP(" + PARTITION_COLUMN + "))"
+                : "RANGE COLUMNS(" + PARTITION_COLUMN + ")";
+    }
+
+    private String partitionDefinition(YearMonth month, boolean timestampColumn) {
+
+        LocalDateTime upperBound = month.plusMonths(1).atDay(1).atStartOfDay();
+
+        String value = timestampColumn
+                ? String.valueOf(upperBound.toEpochSecond(ZoneOffset.UTC))
+                : "'" + upperBound.format(DATETIME_LITERAL) + "'";
+
+        return "PARTITION " + month.format(PARTITION_NAME)
+                + " VALUES LESS THAN (" + value + ")";
+    }
+
+    private String maxPartitionDefinition() {
+        return "PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE)";
+    }
+
+    private YearMonth currentMonth() {
+        return YearMonth.from(Instant.now().atOffset(ZoneOffset.UTC));
+    }
+
+    private ChantingConfigProperties.Partition getPartition() {
+        return chantingConfigProperties.getPartition();
+    }
+}
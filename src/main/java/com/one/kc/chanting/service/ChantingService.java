@@ -1,42 +1,68 @@
 package com.one.kc.chanting.service;
 
+import com.one.kc.chanting.config.ChantingConfigProperties;
+import com.one.kc.chanting.dto.ChantingBatchResponseDto;
+import com.one.kc.chanting.dto.ChantingBatchResultDto;
+import com.one.kc.chanting.dto.ChantingCompactDashboardDto;
 import com.one.kc.chanting.dto.ChantingDashboardResponseDto;
 import com.one.kc.chanting.dto.ChantingDto;
-import com.one.kc.chanting.dto.DashboardDto;
+import com.one.kc.chanting.dto.ChantingRoundsChangedEvent;
+import com.one.kc.chanting.dto.ChantingSegmentRow;
+import com.one.kc.chanting.dto.CursorPageResponse;
+import com.one.kc.chanting.dto.DashboardSeries;
 import com.one.kc.chanting.dto.FacilitatorTodayDto;
 import com.one.kc.chanting.dto.PageResponse;
+import com.one.kc.chanting.dto.PendingChanting;
 import com.one.kc.chanting.entity.Chanting;
+import com.one.kc.chanting.entity.ChantingDailySummary;
+import com.one.kc.chanting.entity.ChantingStreak;
+import com.one.kc.chanting.entity.ChantingTombstone;
 import com.one.kc.chanting.mapper.ChantingMapper;
 import com.one.kc.chanting.repository.ChantingRepository;
+import com.one.kc.chanting.repository.ChantingTombstoneRepository;
+import com.one.kc.common.datasource.DataSourceRoutingContext;
+import com.one.kc.common.enums.BatchItemStatus;
+import com.one.kc.common.enums.DashboardGranularity;
+import com.one.kc.common.enums.DashboardRange;
+import com.one.kc.common.enums.OutboxEventType;
 import com.one.kc.common.exceptions.UserFacingException;
+import com.one.kc.common.utils.CursorUtils;
 import com.one.kc.common.utils.LoggerUtils;
 import com.one.kc.common.utils.ResponseEntityUtils;
 import com.one.kc.common.utils.SnowflakeIdGenerator;
+import com.one.kc.outbox.service.OutboxService;
 import com.one.kc.user.entity.User;
 import com.one.kc.user.repository.UserRepository;
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.DigestUtils;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ChantingService {
@@ -46,22 +72,48 @@ public class ChantingService {
 
     private static final int IDEAL_ROUNDS = 16;
     public static final int BEADS_IN_ONE_ROUND = 108;
+    private static final int EDIT_WINDOW_DAYS = 5;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
     private final ChantingRepository chantingRepository;
     private final ChantingMapper chantingMapper;
     private final SnowflakeIdGenerator idGenerator;
     private final UserRepository userRepository;
+    private final ChantingSummaryService chantingSummaryService;
+    private final ChantingStreakService chantingStreakService;
+    private final ChantingConfigProperties chantingConfigProperties;
+    private final ChantingTombstoneRepository chantingTombstoneRepository;
+    private final DashboardCacheService dashboardCacheService;
+    private final FacilitatorLeaderboardService facilitatorLeaderboardService;
+    private final ChantingColdStorageService chantingColdStorageService;
+    private final OutboxService outboxService;
 
     public ChantingService(
             ChantingRepository chantingRepository,
             ChantingMapper chantingMapper,
             SnowflakeIdGenerator idGenerator,
-            UserRepository userRepository
+            UserRepository userRepository,
+            ChantingSummaryService chantingSummaryService,
+            ChantingStreakService chantingStreakService,
+            ChantingConfigProperties chantingConfigProperties,
+            ChantingTombstoneRepository chantingTombstoneRepository,
+            DashboardCacheService dashboardCacheService,
+            FacilitatorLeaderboardService facilitatorLeaderboardService,
+            ChantingColdStorageService chantingColdStorageService,
+            OutboxService outboxService
     ) {
         this.chantingRepository = chantingRepository;
         this.chantingMapper = chantingMapper;
         this.idGenerator = idGenerator;
         this.userRepository = userRepository;
+        this.chantingSummaryService = chantingSummaryService;
+        this.chantingStreakService = chantingStreakService;
+        this.chantingConfigProperties = chantingConfigProperties;
+        this.chantingTombstoneRepository = chantingTombstoneRepository;
+        this.dashboardCacheService = dashboardCacheService;
+        this.facilitatorLeaderboardService = facilitatorLeaderboardService;
+        this.chantingColdStorageService = chantingColdStorageService;
+        this.outboxService = outboxService;
     }
 
     /**
@@ -71,31 +123,37 @@ public class ChantingService {
      * - Generates a unique chanting ID
      * - Maps DTO to entity
      * - Persists the record
+     * - Adds the rounds to the user's daily summary and streak
      * </p>
      *
      * @param chantingDto chanting details
      * @return created {@link ChantingDto}
      */
+    @Transactional
     public ResponseEntity<ChantingDto> createChanting(
             ChantingDto chantingDto,
             Jwt jwt
     ) {
 
-        if (chantingDto.getChantingAt().isAfter(Instant.now())) {
-            throw new UserFacingException("Future time not allowed");
-        }
+        validateChanting(chantingDto);
         Long userId = Long.parseLong(jwt.getSubject());
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserFacingException("User not found"));
 
         Chanting chanting = new Chanting();
+        chanting.setChantingId(idGenerator.nextId());
         chanting.setUser(user);
         chanting.setChantingRounds(chantingDto.getChantingRounds());
         chanting.setChantingAt(chantingDto.getChantingAt());
+        chanting.setChantingLocalDate(
+                chantingSummaryService.toLocalDate(chantingDto.getChantingAt(), user)
+        );
 
         Chanting saved = chantingRepository.save(chanting);
 
+        applyRounds(user, saved.getChantingLocalDate(), saved.getChantingRounds());
+
         LoggerUtils.info(logger,
                 "Chanting record created at {}", chantingDto.getChantingAt());
 
@@ -104,6 +162,208 @@ public class ChantingService {
         );
     }
 
+    /**
+     * Creates many chanting records at once, e.g. entries queued by an
+     * offline client.
+     *
+     * <p>
+     * - Validates every entry up front (future time, edit window)
+     * - Inserts the valid ones with JDBC batching
+     * - Applies one summary/streak update per affected day
+     * </p>
+     *
+     * @param chantingDtoList chanting entries in client order
+     * @return per-entry results in the same order
+     */
+    @Transactional
+    public ResponseEntity<ChantingBatchResponseDto> createChantingBatch(
+            List<ChantingDto> chantingDtoList,
+            Jwt jwt
+    ) {
+
+        if (CollectionUtils.isEmpty(chantingDtoList)) {
+            throw new UserFacingException("No chanting records provided");
+        }
+
+        int maxSize = chantingConfigProperties.getBatch().getMaxSize();
+        if (chantingDtoList.size() > maxSize) {
+            throw new UserFacingException("Batch size exceeds limit: " + maxSize);
+        }
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserFacingException("User not found"));
+
+        Instant now = Instant.now();
+        Instant cutoff = now.minus(EDIT_WINDOW_DAYS, ChronoUnit.DAYS);
+        ZoneId zone = chantingSummaryService.zone(user);
+
+        List<ChantingBatchResultDto> results = new ArrayList<>();
+        List<Chanting> accepted = new ArrayList<>();
+
+        for (int i = 0; i < chantingDtoList.size(); i++) {
+
+            ChantingDto dto = chantingDtoList.get(i);
+            String error = validateBatchItem(dto, now, cutoff);
+
+            if (error != null) {
+                results.add(new ChantingBatchResultDto(i, null, BatchItemStatus.REJECTED, error));
+                continue;
+            }
+
+            Chanting chanting = new Chanting();
+            chanting.setChantingId(idGenerator.nextId());
+            chanting.setUser(user);
+            chanting.setChantingRounds(dto.getChantingRounds());
+            chanting.setChantingAt(dto.getChantingAt());
+            chanting.setChantingLocalDate(dto.getChantingAt().atZone(zone).toLocalDate());
+
+            accepted.add(chanting);
+            results.add(new ChantingBatchResultDto(
+                    i,
+                    String.valueOf(chanting.getChantingId()),
+                    BatchItemStatus.CREATED,
+                    null
+            ));
+        }
+
+        chantingRepository.saveAll(accepted);
+
+        // One aggregate update per day, oldest first so streaks extend in O(1)
+        Map<LocalDate, Integer> dailyTotals = accepted.stream()
+                .collect(Collectors.groupingBy(
+                        Chanting::getChantingLocalDate,
+                        TreeMap::new,
+                        Collectors.summingInt(Chanting::getChantingRounds)
+                ));
+
+        dailyTotals.forEach((date, rounds) -> applyRounds(user, date, rounds));
+
+        LoggerUtils.info(logger,
+                "Chanting batch stored: {} accepted, {} rejected",
+                accepted.size(), chantingDtoList.size() - accepted.size());
+
+        return ResponseEntity.ok(
+                ChantingBatchResponseDto.builder()
+                        .accepted(accepted.size())
+                        .rejected(chantingDtoList.size() - accepted.size())
+                        .results(results)
+                        .build()
+        );
+    }
+
+    /**
+     * Stores chanting accepted by {@link ChantingWriteBehindService}.
+     *
+     * <p>
+     * - Skips records already stored (journal replay after a crash)
+     * - Inserts the rest with JDBC batching
+     * - Coalesces derived-state updates to one per user and day
+     * - Returns records whose user was deleted after the 202, for the
+     *   caller to dead-letter
+     * </p>
+     *
+     * @param pendingList records drained from the write-behind queue
+     * @return records that cannot be stored because their user is gone
+     */
+    @Transactional
+    public List<PendingChanting> createBufferedChanting(List<PendingChanting> pendingList) {
+
+        Set<Long> stored = new HashSet<>(chantingRepository.findExistingIds(
+                pendingList.stream().map(PendingChanting::chantingId).toList()
+        ));
+
+        Map<Long, User> users = userRepository.findAllById(
+                        pendingList.stream().map(PendingChanting::userId).collect(Collectors.toSet())
+                ).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        List<Chanting> accepted = new ArrayList<>();
+        List<PendingChanting> orphaned = new ArrayList<>();
+
+        for (PendingChanting pending : pendingList) {
+
+            if (stored.contains(pending.chantingId())) {
+                continue;
+            }
+
+            User user = users.get(pending.userId());
+
+            if (user == null) {
+                orphaned.add(pending);
+                continue;
+            }
+
+            Chanting chanting = new Chanting();
+            chanting.setChantingId(pending.chantingId());
+            chanting.setUser(user);
+            // The writer thread has no security context for auditing
+            chanting.setAddBy(pending.userId());
+            chanting.setChgBy(pending.userId());
+            chanting.setChantingRounds(pending.chantingRounds());
+            chanting.setChantingAt(pending.chantingAt());
+            chanting.setChantingLocalDate(
+                    chantingSummaryService.toLocalDate(pending.chantingAt(), user)
+            );
+
+            accepted.add(chanting);
+        }
+
+        chantingRepository.saveAll(accepted);
+
+        // One aggregate update per user and day, oldest first per user
+        Map<Long, Map<LocalDate, Integer>> dailyTotalsByUser = accepted.stream()
+                .collect(Collectors.groupingBy(
+                        chanting -> chanting.getUser().getUserId(),
+                        Collectors.groupingBy(
+                                Chanting::getChantingLocalDate,
+                                TreeMap::new,
+                                Collectors.summingInt(Chanting::getChantingRounds)
+                        )
+                ));
+
+        dailyTotalsByUser.forEach((userId, dailyTotals) ->
+                dailyTotals.forEach((date, rounds) -> applyRounds(users.get(userId), date, rounds)));
+
+        LoggerUtils.info(logger,
+                "Buffered chanting flushed: {} stored, {} without user, {} skipped",
+                accepted.size(), orphaned.size(), pendingList.size() - accepted.size() - orphaned.size());
+
+        return orphaned;
+    }
+
+    /**
+     * Checks shared by direct and write-behind single creates.
+     */
+    public void validateChanting(ChantingDto chantingDto) {
+        if (chantingDto.getChantingAt() == null || chantingDto.getChantingRounds() == null) {
+            throw new UserFacingException("Chanting time and rounds are required");
+        }
+        if (chantingDto.getChantingRounds() <= 0) {
+            throw new UserFacingException("Chanting rounds must be positive");
+        }
+        if (chantingDto.getChantingAt().isAfter(Instant.now())) {
+            throw new UserFacingException("Future time not allowed");
+        }
+    }
+
+    private String validateBatchItem(ChantingDto dto, Instant now, Instant cutoff) {
+        if (dto == null || dto.getChantingAt() == null || dto.getChantingRounds() == null) {
+            return "Chanting time and rounds are required";
+        }
+        if (dto.getChantingRounds() <= 0) {
+            return "Chanting rounds must be positive";
+        }
+        if (dto.getChantingAt().isAfter(now)) {
+            return "Future time not allowed";
+        }
+        if (dto.getChantingAt().isBefore(cutoff)) {
+            return "Chanting older than " + EDIT_WINDOW_DAYS + " days not allowed";
+        }
+        return null;
+    }
+
     @Transactional
     public ResponseEntity<ChantingDto> updateChanting(
             ChantingDto chantingDto,
@@ -123,17 +383,29 @@ public class ChantingService {
             throw new UserFacingException("You are not allowed to update this record");
         }
 
-        Instant cutoff = Instant.now().minus(5, ChronoUnit.DAYS);
+        Instant cutoff = Instant.now().minus(EDIT_WINDOW_DAYS, ChronoUnit.DAYS);
 
         if (existing.getChantingAt().isBefore(cutoff)) {
             throw new UserFacingException("Update not allowed for old record");
         }
 
+        LocalDate previousDate = existing.getChantingLocalDate();
+        int previousRounds = existing.getChantingRounds();
+
+        // The stored day only moves when the time itself changes
+        if (!chantingDto.getChantingAt().equals(existing.getChantingAt())) {
+            existing.setChantingAt(chantingDto.getChantingAt());
+            existing.setChantingLocalDate(
+                    chantingSummaryService.toLocalDate(chantingDto.getChantingAt(), existing.getUser())
+            );
+        }
         existing.setChantingRounds(chantingDto.getChantingRounds());
-        existing.setChantingAt(chantingDto.getChantingAt());
 
         Chanting updated = chantingRepository.save(existing);
 
+        applyRounds(existing.getUser(), previousDate, -previousRounds);
+        applyRounds(existing.getUser(), updated.getChantingLocalDate(), updated.getChantingRounds());
+
         return ResponseEntity.ok(chantingMapper.toDto(updated));
     }
 
@@ -143,6 +415,7 @@ public class ChantingService {
      * @param userId chanting identifier
      * @return {@link ChantingDto}
      */
+    @Transactional(readOnly = true)
     public ResponseEntity<PageResponse<ChantingDto>> getChantingListByUserId(
             Long userId,
             Pageable pageable
@@ -155,16 +428,124 @@ public class ChantingService {
         return ResponseEntityUtils.getPaginatedResponse(chantingListPage, chantingDtoList);
     }
 
+    /**
+     * Retrieves chanting records of a user, newest first, using keyset
+     * pagination on (chantingAt, chantingId).
+     *
+     * <p>
+     * Each page seeks directly past the previous one, so deep pages cost
+     * the same as the first and no count query is executed. Pages that
+     * reach past the live table continue into cold storage.
+     * </p>
+     *
+     * @param userId user identifier
+     * @param cursor opaque cursor from the previous page, or null for the first page
+     * @param size   page size
+     * @return page of {@link ChantingDto} with the next cursor
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<CursorPageResponse<ChantingDto>> getChantingListByUserIdAfterCursor(
+            Long userId,
+            String cursor,
+            int size
+    ) {
+
+        int pageSize = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+
+        CursorUtils.Position position =
+                cursor == null || cursor.isBlank() ? null : CursorUtils.decode(cursor);
+
+        List<Chanting> chantingList;
+
+        if (position == null) {
+            chantingList = chantingRepository.findLatestByUserId(userId, limit);
+        } else {
+            chantingList = chantingRepository.findByUserIdBefore(
+                    userId,
+                    position.instant(),
+                    position.id(),
+                    limit
+            );
+        }
+
+        List<ChantingSegmentRow> rows = chantingList.stream()
+                .map(chanting -> new ChantingSegmentRow(
+                        chanting.getChantingId(),
+                        chanting.getChantingAt(),
+                        chanting.getChantingRounds(),
+                        chanting.getChantingLocalDate()
+                ))
+                .toList();
+
+        rows = mergeArchivedHistory(userId, position, rows, pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ChantingSegmentRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ChantingSegmentRow last = page.getLast();
+            nextCursor = CursorUtils.encode(last.chantingAt(), last.chantingId());
+        }
+
+        return ResponseEntity.ok(new CursorPageResponse<>(
+                page.stream().map(ChantingSegmentRow::toDto).toList(),
+                nextCursor,
+                hasNext
+        ));
+    }
+
+    /**
+     * Adds cold-storage rows to a page of live rows (newest first) when the
+     * page reaches back into the archived years. Recent pages never open
+     * a segment file.
+     */
+    private List<ChantingSegmentRow> mergeArchivedHistory(
+            Long userId,
+            CursorUtils.Position position,
+            List<ChantingSegmentRow> liveRows,
+            int limit
+    ) {
+
+        Instant archivedBefore =
+                chantingColdStorageService.findArchivedBefore(userId).orElse(null);
+
+        boolean reachesArchive = archivedBefore != null
+                && (liveRows.size() < limit
+                || liveRows.getLast().chantingAt().isBefore(archivedBefore));
+
+        if (!reachesArchive) {
+            return liveRows;
+        }
+
+        List<ChantingSegmentRow> archivedRows = chantingColdStorageService.findBefore(
+                userId,
+                position == null ? null : position.instant(),
+                position == null ? null : position.id(),
+                limit
+        );
+
+        return Stream.concat(liveRows.stream(), archivedRows.stream())
+                .sorted(ChantingColdStorageService.CHRONOLOGICAL.reversed())
+                .limit(limit)
+                .toList();
+    }
+
     /**
      * Permanently deletes a chanting record.
      *
      * <p>
-     * ⚠️ This operation is irreversible.
+     * ⚠️ This operation is irreversible. A tombstone is kept so that
+     * syncing clients learn about the deletion.
      * </p>
      *
      * @param chantingId chanting identifier
      * @return HTTP 204 No Content
      */
+    @Transactional
     public ResponseEntity<Void> deleteChanting(Long chantingId) {
 
         Chanting chanting = chantingRepository.findById(chantingId).orElseThrow(
@@ -173,7 +554,7 @@ public class ChantingService {
 
         Instant date = chanting.getChantingAt();
 
-        Instant cutoff = Instant.now().minus(5, ChronoUnit.DAYS);
+        Instant cutoff = Instant.now().minus(EDIT_WINDOW_DAYS, ChronoUnit.DAYS);
 
         if (date.isBefore(cutoff)) {
             throw new UserFacingException(
@@ -184,35 +565,190 @@ public class ChantingService {
 
         chantingRepository.deleteById(chantingId);
 
+        chantingTombstoneRepository.save(new ChantingTombstone(
+                chantingId,
+                chanting.getUser().getUserId(),
+                Instant.now()
+        ));
+
+        applyRounds(
+                chanting.getUser(),
+                chanting.getChantingLocalDate(),
+                -chanting.getChantingRounds()
+        );
+
         LoggerUtils.info(logger,
                 "Chanting record deleted with id: {}", chantingId);
 
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Applies a rounds delta for one day to every derived aggregate.
+     * The daily summary, streak and cached dashboards are updated in the
+     * caller's transaction; the facilitator leaderboard and root group
+     * distribution are updated from the outbox event written with it.
+     */
+    private void applyRounds(User user, LocalDate date, int delta) {
+        if (delta == 0) {
+            return;
+        }
+
+        int newTotal = chantingSummaryService.addRounds(user.getUserId(), date, delta);
+
+        chantingStreakService.onDailyTotalChanged(
+                user.getUserId(),
+                user.getCommittedRounds(),
+                date,
+                newTotal - delta,
+                newTotal
+        );
+
+        LocalDate today = chantingSummaryService.today(user);
+
+        dashboardCacheService.evictAfterCommit(user.getUserId(), date, today);
+
+        outboxService.publish(
+                OutboxEventType.CHANTING_ROUNDS_CHANGED,
+                user.getUserId(),
+                new ChantingRoundsChangedEvent(
+                        user.getUserId(),
+                        user.getCommittedRounds(),
+                        user.getFacilitator() == null ? null : user.getFacilitator().getUserId(),
+                        user.getRootGroup() == null ? null : user.getRootGroup().getGroupId(),
+                        date,
+                        today,
+                        newTotal - delta,
+                        newTotal
+                )
+        );
+    }
+
+    /**
+     * Dashboard of a user. The common ranges (all time, last 7/30/365 days)
+     * are served from {@link DashboardCacheService}.
+     */
     public ChantingDashboardResponseDto getDashboard(
             Long userId,
             LocalDate fromDate,
             LocalDate toDate
     ) {
+        return getDashboard(userId, fromDate, toDate, DashboardGranularity.DAY);
+    }
+
+    /**
+     * Dashboard with one point per day, week, month or year. Coarser
+     * buckets are grouped in the database and are not cached.
+     *
+     * <p>
+     * Not transactional on purpose: each lookup takes its own connection,
+     * so the build for the cache can still be routed to the primary after
+     * the time zone was read from a replica.
+     * </p>
+     */
+    public ChantingDashboardResponseDto getDashboard(
+            Long userId,
+            LocalDate fromDate,
+            LocalDate toDate,
+            DashboardGranularity granularity
+    ) {
+
+        if (granularity != DashboardGranularity.DAY) {
+            return buildDashboard(userId, fromDate, toDate, granularity);
+        }
+
+        LocalDate today = LocalDate.now(chantingSummaryService.zone(userId));
+        DashboardRange range = DashboardRange.resolve(fromDate, toDate, today);
+
+        if (range == null) {
+            return buildDashboard(userId, fromDate, toDate, granularity);
+        }
+
+        DashboardCacheService.Lookup cached = dashboardCacheService.get(userId, range, today);
+
+        if (cached.dashboard() != null) {
+            return cached.dashboard();
+        }
+
+        // Built on the primary: a replica behind the last write
+        // would otherwise be cached until the next eviction
+        ChantingDashboardResponseDto dashboard =
+                DataSourceRoutingContext.onPrimary(() ->
+                        buildDashboard(userId, fromDate, toDate, granularity));
+        dashboardCacheService.put(userId, range, today, cached.generation(), dashboard);
+        return dashboard;
+    }
+
+    /**
+     * Compact dashboard with a strong ETag; returns 304 without building
+     * the dashboard when the client's copy is current.
+     */
+    public ResponseEntity<ChantingCompactDashboardDto> getCompactDashboard(
+            Long userId,
+            LocalDate fromDate,
+            LocalDate toDate,
+            String ifNoneMatch
+    ) {
+
+        LocalDate today = LocalDate.now(chantingSummaryService.zone(userId));
+        String eTag = dashboardETag(userId, fromDate, toDate, today, "compact");
+
+        if (ResponseEntityUtils.isNotModified(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(ChantingCompactDashboardDto.from(getDashboard(userId, fromDate, toDate)));
+    }
+
+    /**
+     * Changes whenever the user's chanting is written or deleted, the
+     * profile (commitment, time zone) changes, or the day rolls over.
+     * Each input is a single index lookup.
+     */
+    private String dashboardETag(
+            Long userId,
+            LocalDate fromDate,
+            LocalDate toDate,
+            LocalDate today,
+            String variant
+    ) {
+
+        String version = String.join("|",
+                variant,
+                String.valueOf(userId),
+                String.valueOf(fromDate),
+                String.valueOf(toDate),
+                String.valueOf(today),
+                String.valueOf(chantingRepository.findLastUpdatedAt(userId).orElse(null)),
+                String.valueOf(chantingTombstoneRepository.findLastDeletedAt(userId).orElse(null)),
+                String.valueOf(userRepository.findUpdatedAtByUserId(userId).orElse(null))
+        );
+
+        return "\"" + DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private ChantingDashboardResponseDto buildDashboard(
+            Long userId,
+            LocalDate fromDate,
+            LocalDate toDate,
+            DashboardGranularity granularity
+    ) {
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserFacingException("User not found"));
 
-        ZoneId zone = ZoneId.systemDefault(); // Ideally user-specific timezone
+        ZoneId zone = chantingSummaryService.zone(user);
 
         // Resolve end date
-        LocalDate to = Objects.requireNonNullElseGet(toDate, LocalDate::now);
+        LocalDate to = Objects.requireNonNullElseGet(toDate, () -> LocalDate.now(zone));
 
         // Resolve start date
         LocalDate from = fromDate;
 
         if (from == null) {
-            Optional<Instant> minInstantOpt =
-                    chantingRepository.findMinChantingAtByUserId(userId);
-
-            from = minInstantOpt
-                    .map(instant -> instant.atZone(zone).toLocalDate())
+            from = chantingSummaryService.getFirstChantingDate(userId)
                     .orElse(to);
         }
 
@@ -221,130 +757,116 @@ public class ChantingService {
             from = to;
         }
 
-        // Convert LocalDate range → Instant range
-        Instant fromInstant = from.atStartOfDay(zone).toInstant();
-        Instant toInstant = to.plusDays(1).atStartOfDay(zone).toInstant();
-
-        // Fetch chanting records
-        List<Chanting> chantingList =
-                chantingRepository
-                        .findByUser_UserIdAndChantingAtBetweenOrderByChantingAtAsc(
-                                userId,
-                                fromInstant,
-                                toInstant
-                        );
+        // One summary row per day, or one grouped row per bucket
+        int[] rounds = granularity == DashboardGranularity.DAY
+                ? chantingSummaryService.getDailyRounds(userId, from, to)
+                : chantingSummaryService.getBucketTotals(userId, from, to, granularity);
 
-        int totalRounds = chantingList.stream()
-                .mapToInt(Chanting::getChantingRounds)
-                .sum();
+        ChantingStreak streak =
+                chantingStreakService.getStreak(userId).orElse(null);
 
-        // Build full time series
-        List<DashboardDto> chantingRecords =
-                buildTimeSeries(chantingList, from, to, zone);
-
-        return ChantingDashboardResponseDto.builder()
-                .committedRounds(user.getCommittedRounds())
-                .idealRounds(IDEAL_ROUNDS)
-                .currentStreak(
-                        calculateStreak(chantingRecords, user.getCommittedRounds(), zone)
-                )
-                .averageRounds(calculateAverage(chantingRecords))
-                .chantingDtoList(chantingRecords)
-                .totalRounds(totalRounds)
-                .totalMahamantras(totalRounds * BEADS_IN_ONE_ROUND)
-                .build();
+        return assembleDashboard(user, rounds, from, to, granularity, streak, LocalDate.now(zone));
     }
 
-    private List<DashboardDto> buildTimeSeries(
-            List<Chanting> chantingList,
-            LocalDate from,
-            LocalDate to,
-            ZoneId zone
+    /**
+     * Daily dashboards of several users from a single summary range query
+     * and a single streak lookup, partitioned by user in memory. Ranges
+     * resolve per user exactly as in {@link #getDashboard}.
+     *
+     * @return dashboards keyed by user id, in the order of {@code users}
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ChantingDashboardResponseDto> getDashboards(
+            List<User> users,
+            LocalDate fromDate,
+            LocalDate toDate
     ) {
 
-        Map<LocalDate, Integer> dailyTotals =
-                chantingList.stream()
-                        .collect(Collectors.groupingBy(
-                                chanting -> chanting.getChantingAt()
-                                        .atZone(zone)
-                                        .toLocalDate(),
-                                Collectors.summingInt(Chanting::getChantingRounds)
-                        ));
-
-        List<DashboardDto> result = new ArrayList<>();
-
-        LocalDate current = from;
+        if (users.isEmpty()) {
+            return Map.of();
+        }
 
-        while (!current.isAfter(to)) {
+        Map<Long, LocalDate> todayByUser = users.stream()
+                .collect(Collectors.toMap(User::getUserId, chantingSummaryService::today));
 
-            DashboardDto dto = new DashboardDto();
-            dto.setChantingDate(current);
-            dto.setChantingRounds(
-                    dailyTotals.getOrDefault(current, 0)
-            );
+        // Widest upper bound; each user's rows are cut to their own range below
+        LocalDate queryTo = toDate != null
+                ? toDate
+                : todayByUser.values().stream().max(LocalDate::compareTo).orElseThrow();
 
-            result.add(dto);
-            current = current.plusDays(1);
-        }
+        Map<Long, List<ChantingDailySummary>> summariesByUser =
+                chantingSummaryService.getDailySummaries(todayByUser.keySet(), fromDate, queryTo);
 
-        return result;
-    }
+        Map<Long, ChantingStreak> streaks =
+                chantingStreakService.getStreaks(todayByUser.keySet());
 
+        Map<Long, ChantingDashboardResponseDto> dashboards = new LinkedHashMap<>();
 
+        for (User user : users) {
 
-    private BigDecimal calculateAverage(List<DashboardDto> records) {
-        if (CollectionUtils.isEmpty(records)) {
-            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
-        }
+            LocalDate today = todayByUser.get(user.getUserId());
+            List<ChantingDailySummary> summaries =
+                    summariesByUser.getOrDefault(user.getUserId(), List.of());
 
-        BigDecimal sum = records.stream()
-                .map(r -> BigDecimal.valueOf(r.getChantingRounds()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            LocalDate to = Objects.requireNonNullElse(toDate, today);
 
-        return sum.divide(
-                BigDecimal.valueOf(records.size()),
-                2,
-                RoundingMode.HALF_UP
-        );
-    }
+            LocalDate from = fromDate != null ? fromDate : firstChantingDate(summaries, to);
 
-    private Integer calculateStreak(
-            List<DashboardDto> records,
-            Integer committedRounds,
-            ZoneId zone
-    ) {
+            if (from.isAfter(to)) {
+                from = to;
+            }
 
-        if (CollectionUtils.isEmpty(records)) {
-            return 0;
+            dashboards.put(user.getUserId(), assembleDashboard(
+                    user, DashboardEngine.dailyRounds(summaries, from, to), from, to, DashboardGranularity.DAY,
+                    streaks.get(user.getUserId()), today
+            ));
         }
 
-        int streak = 0;
-        LocalDate expectedDate = LocalDate.now(zone);
+        return dashboards;
+    }
 
-        for (int i = records.size() - 1; i >= 0; i--) {
+    private LocalDate firstChantingDate(List<ChantingDailySummary> summaries, LocalDate fallback) {
 
-            DashboardDto dto = records.get(i);
+        LocalDate first = null;
 
-            if (streak == 0 &&
-                    !dto.getChantingDate().equals(expectedDate) &&
-                    !dto.getChantingDate().equals(expectedDate.minusDays(1))) {
-                continue;
+        for (ChantingDailySummary summary : summaries) {
+            if (summary.getRounds() > 0
+                    && (first == null || summary.getLocalDate().isBefore(first))) {
+                first = summary.getLocalDate();
             }
+        }
 
-            if (!dto.getChantingDate().equals(expectedDate)
-                    && !dto.getChantingDate().equals(expectedDate.minusDays(1))) {
-                break;
-            }
+        return first == null ? fallback : first;
+    }
 
-            if (dto.getChantingRounds() < committedRounds) {
-                break;
-            }
+    /**
+     * Builds the response from a rounds buffer; index {@code i} is the
+     * i-th bucket from the one containing {@code from}.
+     */
+    private ChantingDashboardResponseDto assembleDashboard(
+            User user,
+            int[] rounds,
+            LocalDate from,
+            LocalDate to,
+            DashboardGranularity granularity,
+            ChantingStreak streak,
+            LocalDate today
+    ) {
 
-            streak++;
-            expectedDate = dto.getChantingDate().minusDays(1);
-        }
+        int totalRounds = DashboardEngine.total(rounds);
 
-        return streak;
+        return ChantingDashboardResponseDto.builder()
+                .committedRounds(user.getCommittedRounds())
+                .idealRounds(IDEAL_ROUNDS)
+                .currentStreak(
+                        chantingStreakService.getCurrentStreak(streak, today)
+                )
+                .longestStreak(streak == null ? 0 : streak.getLongestStreak())
+                .averageRounds(DashboardEngine.average(totalRounds, from, to))
+                .chantingDtoList(new DashboardSeries(granularity.bucketStart(from), rounds, granularity))
+                .totalRounds(totalRounds)
+                .totalMahamantras(totalRounds * BEADS_IN_ONE_ROUND)
+                .build();
     }
 
     public ResponseEntity<Page<FacilitatorTodayDto>>getFacilitatorGroupChantingToday(Jwt jwt, Pageable pageable) {
@@ -360,17 +882,24 @@ public class ChantingService {
 
         Long facilitatorId = user.getFacilitator().getUserId();
 
-        ZoneId zone = ZoneId.systemDefault();
-        LocalDate today = LocalDate.now(zone);
+        LocalDate today = chantingSummaryService.today(user);
 
-        Instant start = today.atStartOfDay(zone).toInstant();
-        Instant end = today.plusDays(1).atStartOfDay(zone).toInstant();
+        try {
+            return ResponseEntity.ok(
+                    facilitatorLeaderboardService.getPage(facilitatorId, today, pageable)
+            );
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Leaderboard unavailable, falling back to database", e);
+        }
 
+        // A local date lies within a day of its UTC date in every zone;
+        // the bound lets MySQL prune chanting partitions
         Page<FacilitatorTodayDto> result =
                 chantingRepository.findFacilitatorUsersTodayChanting(
                         facilitatorId,
-                        start,
-                        end,
+                        today,
+                        today.minusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant(),
+                        today.plusDays(2).atStartOfDay(ZoneOffset.UTC).toInstant(),
                         pageable
                 );
 
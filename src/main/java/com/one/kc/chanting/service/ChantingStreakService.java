@@ -0,0 +1,168 @@
+package com.one.kc.chanting.service;
+
+import com.one.kc.chanting.entity.ChantingStreak;
+import com.one.kc.chanting.repository.ChantingDailySummaryRepository;
+import com.one.kc.chanting.repository.ChantingStreakRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the persisted {@link ChantingStreak} of each user.
+ *
+ * <p>
+ * A day qualifies when its total reaches the user's committed rounds
+ * and at least one round was chanted. Without a commitment (0 or null)
+ * any day with chanting qualifies; unlike the former on-the-fly streak,
+ * an empty day breaks the run even then. The common cases — today's total
+ * crossing the commitment, or a fresh run starting after a gap — are
+ * applied in O(1). Anything that can split or merge earlier runs falls
+ * back to a recalculation from the daily summary.
+ * </p>
+ *
+ * <p>
+ * Updates lock the user's streak row ({@link #lockStreak}), so concurrent
+ * writes of one user, including the very first, are applied one after
+ * the other.
+ * </p>
+ */
+@Service
+public class ChantingStreakService {
+
+    private final ChantingStreakRepository streakRepository;
+    private final ChantingDailySummaryRepository summaryRepository;
+
+    public ChantingStreakService(
+            ChantingStreakRepository streakRepository,
+            ChantingDailySummaryRepository summaryRepository
+    ) {
+        this.streakRepository = streakRepository;
+        this.summaryRepository = summaryRepository;
+    }
+
+    /**
+     * Applies a change of a day's total to the user's streak.
+     * Must be called in the transaction that changed the daily summary.
+     */
+    public void onDailyTotalChanged(
+            Long userId,
+            Integer committedRounds,
+            LocalDate date,
+            int previousTotal,
+            int newTotal
+    ) {
+        boolean wasQualifying = qualifies(previousTotal, committedRounds);
+        boolean isQualifying = qualifies(newTotal, committedRounds);
+
+        if (wasQualifying == isQualifying) {
+            return;
+        }
+
+        ChantingStreak streak = lockStreak(userId);
+
+        LocalDate last = streak.getLastQualifyingDate();
+
+        if (isQualifying && last != null && date.equals(last.plusDays(1))) {
+            // Extends the latest run
+            streak.setCurrentStreak(streak.getCurrentStreak() + 1);
+            streak.setLastQualifyingDate(date);
+        } else if (isQualifying && (last == null || date.isAfter(last.plusDays(1)))) {
+            // Starts a new run after a gap
+            streak.setCurrentStreak(1);
+            streak.setLastQualifyingDate(date);
+        } else {
+            // Back-dated change or a day losing its qualification
+            recalculate(streak, committedRounds);
+        }
+
+        streak.setLongestStreak(
+                Math.max(streak.getLongestStreak(), streak.getCurrentStreak())
+        );
+
+        streakRepository.save(streak);
+    }
+
+    /**
+     * Rebuilds a user's streak from the daily summary, e.g. after the
+     * committed rounds changed.
+     */
+    @Transactional
+    public void recalculate(Long userId, Integer committedRounds) {
+        ChantingStreak streak = lockStreak(userId);
+
+        recalculate(streak, committedRounds);
+
+        streakRepository.save(streak);
+    }
+
+    public Optional<ChantingStreak> getStreak(Long userId) {
+        return streakRepository.findById(userId);
+    }
+
+    public Map<Long, ChantingStreak> getStreaks(Collection<Long> userIds) {
+        return streakRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(ChantingStreak::getUserId, Function.identity()));
+    }
+
+    public List<Long> findUsersWithoutStreak() {
+        return streakRepository.findUserIdsWithoutStreak();
+    }
+
+    /**
+     * Length of the run ending today or yesterday, otherwise 0.
+     */
+    public int getCurrentStreak(ChantingStreak streak, LocalDate today) {
+        if (streak == null || streak.getLastQualifyingDate() == null) {
+            return 0;
+        }
+        if (streak.getLastQualifyingDate().isBefore(today.minusDays(1))) {
+            return 0;
+        }
+        return streak.getCurrentStreak();
+    }
+
+    /**
+     * The user's streak row, created empty if missing and locked until
+     * the transaction ends.
+     */
+    private ChantingStreak lockStreak(Long userId) {
+        streakRepository.insertIfAbsent(userId);
+        return streakRepository.findForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Streak missing for user " + userId));
+    }
+
+    private void recalculate(ChantingStreak streak, Integer committedRounds) {
+
+        List<LocalDate> qualifyingDates =
+                summaryRepository.findQualifyingDates(
+                        streak.getUserId(),
+                        minimumRounds(committedRounds)
+                );
+
+        DashboardEngine.Streak runs = DashboardEngine.streak(qualifyingDates);
+
+        streak.setCurrentStreak(runs.current());
+        streak.setLastQualifyingDate(runs.lastDate());
+        streak.setLongestStreak(runs.longest());
+    }
+
+    private boolean qualifies(int total, Integer committedRounds) {
+        return total >= minimumRounds(committedRounds);
+    }
+
+    /**
+     * Rounds a day needs to count towards the streak: the commitment, but
+     * at least one.
+     */
+    public static int minimumRounds(Integer committedRounds) {
+        return Math.max(Objects.requireNonNullElse(committedRounds, 0), 1);
+    }
+}
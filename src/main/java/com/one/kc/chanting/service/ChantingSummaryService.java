@@ -0,0 +1,238 @@
+package com.one.kc.chanting.service;
+
+import com.one.kc.chanting.dto.ChantingSegmentRow;
+import com.one.kc.chanting.entity.Chanting;
+import com.one.kc.chanting.entity.ChantingDailySummary;
+import com.one.kc.chanting.repository.ChantingDailySummaryRepository;
+import com.one.kc.chanting.repository.ChantingRepository;
+import com.one.kc.common.enums.DashboardGranularity;
+import com.one.kc.common.utils.LoggerUtils;
+import com.one.kc.user.entity.User;
+import com.one.kc.user.repository.UserRepository;
+import jakarta.transaction.Transactional;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the {@code chanting_daily_summary} rollup.
+ *
+ * <p>
+ * Every chanting write is translated into a rounds delta for a single
+ * (user, day) row, so dashboard reads scale with the number of days
+ * instead of the number of chanting records.
+ * </p>
+ */
+@Service
+public class ChantingSummaryService {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(ChantingSummaryService.class);
+
+    private final ChantingDailySummaryRepository summaryRepository;
+    private final ChantingRepository chantingRepository;
+    private final UserRepository userRepository;
+    private final ChantingColdStorageService chantingColdStorageService;
+
+    public ChantingSummaryService(
+            ChantingDailySummaryRepository summaryRepository,
+            ChantingRepository chantingRepository,
+            UserRepository userRepository,
+            ChantingColdStorageService chantingColdStorageService
+    ) {
+        this.summaryRepository = summaryRepository;
+        this.chantingRepository = chantingRepository;
+        this.userRepository = userRepository;
+        this.chantingColdStorageService = chantingColdStorageService;
+    }
+
+    /**
+     * Resolves the day a chanting instant is bucketed into for the user.
+     * The result is stored on the chanting row at write time.
+     */
+    public LocalDate toLocalDate(Instant chantingAt, User user) {
+        return chantingAt.atZone(zone(user)).toLocalDate();
+    }
+
+    public LocalDate today(User user) {
+        return LocalDate.now(zone(user));
+    }
+
+    public ZoneId zone(User user) {
+        return toZone(user.getTimeZone());
+    }
+
+    /**
+     * Zone of a user without loading the entity, for read paths that
+     * only know the id.
+     */
+    public ZoneId zone(Long userId) {
+        return toZone(userRepository.findTimeZoneByUserId(userId).orElse(null));
+    }
+
+    private ZoneId toZone(String timeZone) {
+        return StringUtils.isBlank(timeZone)
+                ? ZoneId.systemDefault()
+                : ZoneId.of(timeZone);
+    }
+
+    /**
+     * Adds (or with a negative value, removes) rounds for a user's day.
+     * Must be called inside the transaction that writes the chanting row.
+     *
+     * @return the day's total after the change
+     */
+    public int addRounds(Long userId, LocalDate localDate, int delta) {
+        if (delta != 0) {
+            summaryRepository.addRounds(userId, localDate, delta);
+        }
+        return summaryRepository.findRounds(userId, localDate).orElse(0);
+    }
+
+    public int getRounds(Long userId, LocalDate localDate) {
+        return summaryRepository.findRounds(userId, localDate).orElse(0);
+    }
+
+    /**
+     * Rounds per day of [fromDate, toDate], see
+     * {@link DashboardEngine#dailyRounds}.
+     */
+    public int[] getDailyRounds(
+            Long userId,
+            LocalDate fromDate,
+            LocalDate toDate
+    ) {
+        return DashboardEngine.dailyRounds(
+                summaryRepository.findByUserIdAndLocalDateBetweenOrderByLocalDateAsc(userId, fromDate, toDate),
+                fromDate,
+                toDate
+        );
+    }
+
+    /**
+     * Summary rows of several users in one range query, grouped by user.
+     *
+     * @param fromDate inclusive start, or null for each user's full history
+     */
+    public Map<Long, List<ChantingDailySummary>> getDailySummaries(
+            Collection<Long> userIds,
+            LocalDate fromDate,
+            LocalDate toDate
+    ) {
+
+        List<ChantingDailySummary> rows = fromDate == null
+                ? summaryRepository.findByUserIdInAndLocalDateLessThanEqual(userIds, toDate)
+                : summaryRepository.findByUserIdInAndLocalDateBetween(userIds, fromDate, toDate);
+
+        return rows.stream()
+                .collect(Collectors.groupingBy(ChantingDailySummary::getUserId));
+    }
+
+    /**
+     * Rounds per bucket of [fromDate, toDate]; index 0 is the bucket
+     * containing {@code fromDate}. Grouped in the database so the work
+     * scales with the number of buckets rather than days.
+     */
+    public int[] getBucketTotals(
+            Long userId,
+            LocalDate fromDate,
+            LocalDate toDate,
+            DashboardGranularity granularity
+    ) {
+
+        LocalDate firstBucketStart = granularity.bucketStart(fromDate);
+        int[] totals = new int[granularity.bucketCount(fromDate, toDate)];
+
+        for (Object[] row : summaryRepository.findBucketTotals(
+                userId, fromDate, toDate, granularity.name())) {
+
+            LocalDate bucketStart = row[0] instanceof java.sql.Date sqlDate
+                    ? sqlDate.toLocalDate()
+                    : (LocalDate) row[0];
+
+            totals[granularity.bucketIndex(firstBucketStart, bucketStart)] += ((Number) row[1]).intValue();
+        }
+
+        return totals;
+    }
+
+    public Optional<LocalDate> getFirstChantingDate(Long userId) {
+        return summaryRepository.findMinLocalDateByUserId(userId);
+    }
+
+    /**
+     * Recomputes the rollup of a user from the raw chanting rows.
+     */
+    @Transactional
+    public void rebuild(Long userId) {
+
+        summaryRepository.deleteByUserId(userId);
+
+        int days = summaryRepository.insertFromChanting(userId);
+
+        // Archived chanting is no longer in the table but still counts
+        try (Stream<ChantingSegmentRow> archivedRows = chantingColdStorageService.stream(userId)) {
+            archivedRows
+                    .filter(row -> row.chantingLocalDate() != null)
+                    .collect(Collectors.groupingBy(
+                            ChantingSegmentRow::chantingLocalDate,
+                            Collectors.summingInt(ChantingSegmentRow::chantingRounds)
+                    ))
+                    .forEach((localDate, rounds) ->
+                            summaryRepository.addRounds(userId, localDate, rounds));
+        }
+
+        LoggerUtils.info(logger,
+                "Daily summary rebuilt for user {} with {} days", userId, days);
+    }
+
+    /**
+     * Stores the local date on chanting rows written before the column
+     * existed, using the user's current time zone.
+     */
+    @Transactional
+    public void assignLocalDates(Long userId) {
+
+        List<Chanting> chantingList =
+                chantingRepository.findByUser_UserIdAndChantingLocalDateIsNull(userId);
+
+        if (chantingList.isEmpty()) {
+            return;
+        }
+
+        ZoneId zone = zone(userId);
+
+        chantingList.forEach(chanting -> chanting.setChantingLocalDate(
+                chanting.getChantingAt().atZone(zone).toLocalDate()
+        ));
+
+        LoggerUtils.info(logger,
+                "Local date assigned to {} chanting records of user {}",
+                chantingList.size(), userId);
+    }
+
+    /**
+     * Users with chanting rows that have no stored local date yet.
+     */
+    public List<Long> findUsersWithoutLocalDate() {
+        return chantingRepository.findUserIdsWithoutLocalDate();
+    }
+
+    /**
+     * Users whose chanting predates the summary table.
+     */
+    public List<Long> findUsersWithoutSummary() {
+        return chantingRepository.findUserIdsWithoutDailySummary();
+    }
+}
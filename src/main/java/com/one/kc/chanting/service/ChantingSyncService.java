@@ -0,0 +1,180 @@
+package com.one.kc.chanting.service;
+
+import com.one.kc.chanting.config.ChantingConfigProperties;
+import com.one.kc.chanting.dto.ChantingChangesDto;
+import com.one.kc.chanting.dto.ChantingDto;
+import com.one.kc.chanting.entity.Chanting;
+import com.one.kc.chanting.entity.ChantingTombstone;
+import com.one.kc.chanting.mapper.ChantingMapper;
+import com.one.kc.chanting.repository.ChantingRepository;
+import com.one.kc.chanting.repository.ChantingTombstoneRepository;
+import com.one.kc.common.exceptions.UserFacingException;
+import com.one.kc.common.utils.CursorUtils;
+import com.one.kc.common.utils.LoggerUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Change feed for offline clients.
+ *
+ * <p>
+ * Returns chanting records created or updated, and tombstones of records
+ * deleted, after a cursor position (timestamp, chantingId). Traffic is
+ * proportional to the change rate rather than the size of the history.
+ * </p>
+ *
+ * <p>
+ * Tombstones are kept for {@code chanting.tombstone.retention}; an
+ * older cursor could miss deletions and is answered with 410 Gone, after
+ * which the client starts a full sync.
+ * </p>
+ */
+@Service
+public class ChantingSyncService {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(ChantingSyncService.class);
+
+    private static final int MAX_CHANGES_PAGE_SIZE = 500;
+
+    /**
+     * Changes younger than this are held back: a transaction that stamped
+     * its rows earlier may still be committing, and handing out a cursor
+     * past it would make clients miss those rows.
+     */
+    private static final Duration SETTLE_LAG = Duration.ofSeconds(5);
+
+    private final ChantingRepository chantingRepository;
+    private final ChantingTombstoneRepository tombstoneRepository;
+    private final ChantingMapper chantingMapper;
+    private final ChantingConfigProperties.Tombstone tombstoneConfig;
+
+    public ChantingSyncService(
+            ChantingRepository chantingRepository,
+            ChantingTombstoneRepository tombstoneRepository,
+            ChantingMapper chantingMapper,
+            ChantingConfigProperties chantingConfigProperties
+    ) {
+        this.chantingRepository = chantingRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.chantingMapper = chantingMapper;
+        this.tombstoneConfig = chantingConfigProperties.getTombstone();
+    }
+
+    /**
+     * Retrieves the changes of a user's chanting records since a cursor.
+     *
+     * @param userId user identifier
+     * @param since  {@code nextCursor} of the previous sync, or null for a full sync
+     * @param size   maximum number of changes to return
+     * @return upserted records, deleted IDs and the cursor for the next call
+     */
+    public ResponseEntity<ChantingChangesDto> getChanges(
+            Long userId,
+            String since,
+            int size
+    ) {
+
+        int pageSize = Math.clamp(size, 1, MAX_CHANGES_PAGE_SIZE);
+
+        CursorUtils.Position position = (since == null || since.isBlank())
+                ? new CursorUtils.Position(Instant.EPOCH, 0L)
+                : CursorUtils.decode(since);
+
+        Instant now = Instant.now();
+
+        if (position.instant().isAfter(Instant.EPOCH)
+                && position.instant().isBefore(now.minus(tombstoneConfig.getRetention()))) {
+            throw new UserFacingException("Sync cursor expired, start a full sync", HttpStatus.GONE);
+        }
+
+        Instant until = now.minus(SETTLE_LAG);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Chanting> changed = chantingRepository.findChangedSince(
+                userId, position.instant(), position.id(), until, limit
+        );
+
+        List<ChantingTombstone> deleted = tombstoneRepository.findDeletedSince(
+                userId, position.instant(), position.id(), until, limit
+        );
+
+        // Merge both streams in (timestamp, id) order up to the page size
+        List<ChantingDto> upserted = new ArrayList<>();
+        List<String> deletedIds = new ArrayList<>();
+
+        int c = 0;
+        int d = 0;
+        Instant lastInstant = position.instant();
+        Long lastId = position.id();
+
+        while (upserted.size() + deletedIds.size() < pageSize
+                && (c < changed.size() || d < deleted.size())) {
+
+            boolean takeChanged = d >= deleted.size()
+                    || (c < changed.size() && isBefore(changed.get(c), deleted.get(d)));
+
+            if (takeChanged) {
+                Chanting chanting = changed.get(c++);
+                upserted.add(chantingMapper.toDto(chanting));
+                lastInstant = chanting.getUpdatedAt();
+                lastId = chanting.getChantingId();
+            } else {
+                ChantingTombstone tombstone = deleted.get(d++);
+                deletedIds.add(String.valueOf(tombstone.getChantingId()));
+                lastInstant = tombstone.getDeletedAt();
+                lastId = tombstone.getChantingId();
+            }
+        }
+
+        boolean hasMore = c < changed.size() || d < deleted.size();
+
+        // Everything before the settle bound has been returned; moving the
+        // cursor there keeps clients of quiet accounts within the retention
+        if (!hasMore) {
+            lastInstant = until;
+            lastId = 0L;
+        }
+
+        return ResponseEntity.ok(
+                ChantingChangesDto.builder()
+                        .upserted(upserted)
+                        .deletedIds(deletedIds)
+                        .nextCursor(CursorUtils.encode(lastInstant, lastId))
+                        .hasMore(hasMore)
+                        .build()
+        );
+    }
+
+    /**
+     * Deletes tombstones older than {@code chanting.tombstone.retention}.
+     */
+    @Transactional
+    @Scheduled(cron = "${chanting.tombstone.purge-cron:0 15 4 * * *}", zone = "UTC")
+    public void purgeTombstones() {
+
+        int deleted = tombstoneRepository.deleteOlderThan(
+                Instant.now().minus(tombstoneConfig.getRetention())
+        );
+
+        if (deleted > 0) {
+            LoggerUtils.info(logger, "Purged {} chanting tombstones", deleted);
+        }
+    }
+
+    private boolean isBefore(Chanting chanting, ChantingTombstone tombstone) {
+        int cmp = chanting.getUpdatedAt().compareTo(tombstone.getDeletedAt());
+        return cmp < 0 || (cmp == 0 && chanting.getChantingId() < tombstone.getChantingId());
+    }
+}
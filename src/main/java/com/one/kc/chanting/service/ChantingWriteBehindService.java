@@ -0,0 +1,454 @@
+package com.one.kc.chanting.service;
+
+import com.one.kc.chanting.config.ChantingConfigProperties;
+import com.one.kc.chanting.dto.ChantingDto;
+import com.one.kc.chanting.dto.PendingChanting;
+import com.one.kc.common.exceptions.UserFacingException;
+import com.one.kc.common.utils.LoggerUtils;
+import com.one.kc.common.utils.SnowflakeIdGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional write-behind path for single chanting creates
+ * ({@code chanting.write-behind.enabled}).
+ *
+ * <p>
+ * - A submission is appended to a local journal (fsync) and a bounded
+ *   in-memory queue, then acknowledged with 202 Accepted
+ * - A full queue rejects new submissions with 503 (backpressure)
+ * - One background writer drains the queue in batches through
+ *   {@link ChantingService#createBufferedChanting}, which coalesces the
+ *   summary, streak, cache and leaderboard updates per user and day
+ * - A batch failing {@code max-attempts} times is retried record by
+ *   record; records failing for a non-transient reason are appended to
+ *   {@code dead-letter-chanting.log} and dropped from the queue
+ * - Records whose user was deleted before the flush are dead-lettered
+ *   the same way; {@code kc.chanting.write_behind.dead_letters} counts
+ *   both, tagged by reason
+ * - The journal is replayed on startup and truncated whenever the queue
+ *   runs empty; on shutdown the queue is flushed before the context closes
+ * </p>
+ */
+@Service
+public class ChantingWriteBehindService {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(ChantingWriteBehindService.class);
+
+    private static final String JOURNAL_FILE = "pending-chanting.log";
+    private static final String DEAD_LETTER_FILE = "dead-letter-chanting.log";
+    private static final Duration INITIAL_RETRY_DELAY = Duration.ofSeconds(1);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(30);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ChantingService chantingService;
+    private final SnowflakeIdGenerator idGenerator;
+    private final ChantingConfigProperties.WriteBehind config;
+    private final BlockingQueue<PendingChanting> queue;
+    private final Counter failedCounter;
+    private final Counter userMissingCounter;
+
+    /** Guards journal appends, queue offers and journal truncation. */
+    private final Object journalLock = new Object();
+
+    private FileChannel journal;
+    private Thread writer;
+    private volatile boolean accepting;
+    private volatile boolean running;
+
+    public ChantingWriteBehindService(
+            ChantingService chantingService,
+            SnowflakeIdGenerator idGenerator,
+            ChantingConfigProperties chantingConfigProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.chantingService = chantingService;
+        this.idGenerator = idGenerator;
+        this.config = chantingConfigProperties.getWriteBehind();
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+
+        Gauge.builder("kc.chanting.write_behind.queue", queue, BlockingQueue::size)
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("kc.chanting.write_behind.dead_letters")
+                .tag("reason", "failed")
+                .register(meterRegistry);
+        this.userMissingCounter = Counter.builder("kc.chanting.write_behind.dead_letters")
+                .tag("reason", "user_missing")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Journals and queues a chanting record.
+     *
+     * @return HTTP 202 with the assigned chanting ID
+     */
+    public ResponseEntity<ChantingDto> submit(ChantingDto chantingDto, Jwt jwt) {
+
+        chantingService.validateChanting(chantingDto);
+
+        PendingChanting pending = new PendingChanting(
+                idGenerator.nextId(),
+                Long.parseLong(jwt.getSubject()),
+                chantingDto.getChantingAt(),
+                chantingDto.getChantingRounds()
+        );
+
+        synchronized (journalLock) {
+
+            if (!accepting) {
+                throw new UserFacingException(
+                        "Chanting submissions are paused, please retry", HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            if (queue.remainingCapacity() == 0) {
+                throw new UserFacingException(
+                        "Too many chanting submissions, please retry shortly", HttpStatus.SERVICE_UNAVAILABLE);
+            }
+
+            appendToJournal(pending);
+            queue.add(pending);
+        }
+
+        return ResponseEntity.accepted().body(new ChantingDto(
+                String.valueOf(pending.chantingId()),
+                pending.chantingRounds(),
+                pending.chantingAt()
+        ));
+    }
+
+    /**
+     * Replays the journal and starts the writer once the application,
+     * including the database, is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+
+        if (!isEnabled()) {
+            return;
+        }
+
+        List<PendingChanting> replay = openJournal();
+
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("chanting-write-behind")
+                .start(this::drainLoop);
+
+        // Already journaled; duplicates of flushed records are skipped on write
+        for (PendingChanting pending : replay) {
+            try {
+                queue.put(pending);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        accepting = true;
+
+        LoggerUtils.info(logger,
+                "Chanting write-behind started, {} journaled records replayed", replay.size());
+    }
+
+    /**
+     * Stops accepting and flushes everything queued before the context
+     * (and the datasource) shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+
+        if (writer == null) {
+            return;
+        }
+
+        synchronized (journalLock) {
+            accepting = false;
+        }
+        running = false;
+
+        try {
+            writer.join(SHUTDOWN_TIMEOUT.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        LoggerUtils.info(logger,
+                "Chanting write-behind stopped, {} records left in journal", queue.size());
+
+        try {
+            journal.close();
+        } catch (IOException e) {
+            LoggerUtils.error(logger, "Failed to close chanting journal", e);
+        }
+    }
+
+    private void drainLoop() {
+
+        while (running || !queue.isEmpty()) {
+
+            List<PendingChanting> batch = new ArrayList<>();
+
+            try {
+                PendingChanting first =
+                        queue.poll(config.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, config.getBatchSize() - 1);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (!flush(batch)) {
+                // Left in the journal for the next start
+                return;
+            }
+
+            truncateJournalIfIdle();
+        }
+    }
+
+    /**
+     * Stores a batch; after {@code max-attempts} failures its records are
+     * stored one by one so a bad record cannot block the rest.
+     *
+     * @return false when stopped before the batch was handled
+     */
+    private boolean flush(List<PendingChanting> batch) {
+
+        Duration delay = INITIAL_RETRY_DELAY;
+
+        for (int attempt = 1; attempt <= config.getMaxAttempts(); attempt++) {
+            try {
+                deadLetterOrphans(chantingService.createBufferedChanting(batch));
+                return true;
+
+            } catch (RuntimeException e) {
+                LoggerUtils.error(logger, "Chanting write-behind flush failed (attempt {})", e, attempt);
+
+                if (!pause(delay)) {
+                    return false;
+                }
+                delay = nextDelay(delay);
+            }
+        }
+
+        for (PendingChanting pending : batch) {
+            if (!flushOne(pending)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Retries a single record while the failure looks transient (database
+     * unreachable, lock timeouts); anything else is dead-lettered.
+     */
+    private boolean flushOne(PendingChanting pending) {
+
+        Duration delay = INITIAL_RETRY_DELAY;
+
+        while (true) {
+            try {
+                deadLetterOrphans(chantingService.createBufferedChanting(List.of(pending)));
+                return true;
+
+            } catch (RuntimeException e) {
+
+                if (!isTransient(e)) {
+                    deadLetter(pending, e);
+                    return true;
+                }
+
+                LoggerUtils.error(logger, "Chanting write-behind record {} failed, retrying", e,
+                        pending.chantingId());
+
+                if (!pause(delay)) {
+                    return false;
+                }
+                delay = nextDelay(delay);
+            }
+        }
+    }
+
+    private boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private void deadLetter(PendingChanting pending, RuntimeException e) {
+
+        failedCounter.increment();
+        LoggerUtils.error(logger, "Chanting {} of user {} moved to the dead-letter file", e,
+                pending.chantingId(), pending.userId());
+
+        appendDeadLetter(pending);
+    }
+
+    /**
+     * Records acknowledged with 202 whose user was deleted before the
+     * flush; they are kept rather than silently dropped.
+     */
+    private void deadLetterOrphans(List<PendingChanting> orphaned) {
+
+        for (PendingChanting pending : orphaned) {
+
+            userMissingCounter.increment();
+            LoggerUtils.info(logger, "Chanting {} of deleted user {} moved to the dead-letter file",
+                    pending.chantingId(), pending.userId());
+
+            appendDeadLetter(pending);
+        }
+    }
+
+    /**
+     * Appends the record in journal format, so it can be fixed and
+     * resubmitted by hand.
+     */
+    private void appendDeadLetter(PendingChanting pending) {
+
+        Path path = Path.of(config.getJournalDirectory()).resolve(DEAD_LETTER_FILE);
+
+        try {
+            Files.writeString(path, pending.toJournalLine(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND,
+                    StandardOpenOption.SYNC);
+        } catch (IOException io) {
+            // Still dropped from the queue; the caller's log line keeps the record
+            LoggerUtils.error(logger, "Failed to write chanting dead-letter file {}", io, path);
+        }
+    }
+
+    private boolean pause(Duration delay) {
+
+        if (!running) {
+            return false;
+        }
+
+        try {
+            Thread.sleep(delay.toMillis());
+            return true;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Duration nextDelay(Duration delay) {
+        return delay.multipliedBy(2).compareTo(MAX_RETRY_DELAY) > 0
+                ? MAX_RETRY_DELAY
+                : delay.multipliedBy(2);
+    }
+
+    private void appendToJournal(PendingChanting pending) {
+        try {
+            journal.write(ByteBuffer.wrap(
+                    pending.toJournalLine().getBytes(StandardCharsets.UTF_8)
+            ));
+            journal.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to journal chanting", e);
+        }
+    }
+
+    /**
+     * Everything journaled so far is stored once the queue is empty
+     * (the writer is the only consumer and just finished its batch).
+     */
+    private void truncateJournalIfIdle() {
+        synchronized (journalLock) {
+            if (!queue.isEmpty()) {
+                return;
+            }
+            try {
+                journal.truncate(0);
+                journal.force(false);
+            } catch (IOException e) {
+                LoggerUtils.error(logger, "Failed to truncate chanting journal", e);
+            }
+        }
+    }
+
+    private List<PendingChanting> openJournal() {
+
+        Path path = Path.of(config.getJournalDirectory()).resolve(JOURNAL_FILE);
+
+        try {
+            Files.createDirectories(path.getParent());
+
+            List<PendingChanting> replay = Files.exists(path)
+                    ? Files.readAllLines(path, StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.isBlank())
+                    .flatMap(line -> parseJournalLine(line).stream())
+                    .toList()
+                    : List.of();
+
+            journal = FileChannel.open(path,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+
+            return replay;
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open chanting journal " + path, e);
+        }
+    }
+
+    /**
+     * A crash during an append can leave a torn last line; it was never
+     * acknowledged, so it is dropped.
+     */
+    private Optional<PendingChanting> parseJournalLine(String line) {
+        try {
+            return Optional.of(PendingChanting.fromJournalLine(line));
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Skipping malformed chanting journal line", e);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.one.kc.chanting.service;
+
+import com.one.kc.chanting.dto.CohortDayDto;
+import com.one.kc.chanting.dto.CohortDayRow;
+import com.one.kc.chanting.dto.FacilitatorCohortDashboardDto;
+import com.one.kc.chanting.repository.ChantingDailySummaryRepository;
+import com.one.kc.user.repository.UserRepository;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregate dashboard over all users assigned to a facilitator,
+ * computed by one grouped query on the daily summary.
+ */
+@Service
+public class CohortDashboardService {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    private final ChantingDailySummaryRepository summaryRepository;
+    private final UserRepository userRepository;
+    private final ChantingSummaryService chantingSummaryService;
+
+    public CohortDashboardService(
+            ChantingDailySummaryRepository summaryRepository,
+            UserRepository userRepository,
+            ChantingSummaryService chantingSummaryService
+    ) {
+        this.summaryRepository = summaryRepository;
+        this.userRepository = userRepository;
+        this.chantingSummaryService = chantingSummaryService;
+    }
+
+    public FacilitatorCohortDashboardDto getCohortDashboard(
+            Long facilitatorId,
+            LocalDate fromDate,
+            LocalDate toDate
+    ) {
+
+        LocalDate to = Objects.requireNonNullElseGet(
+                toDate,
+                () -> LocalDate.now(chantingSummaryService.zone(facilitatorId))
+        );
+        LocalDate from = Objects.requireNonNullElseGet(
+                fromDate,
+                () -> to.minusDays(DEFAULT_RANGE_DAYS - 1L)
+        );
+
+        if (from.isAfter(to)) {
+            from = to;
+        }
+
+        long userCount = userRepository.countByFacilitator_UserId(facilitatorId);
+
+        Map<LocalDate, CohortDayRow> rowsByDate =
+                summaryRepository.findCohortDays(facilitatorId, from, to).stream()
+                        .collect(Collectors.toMap(CohortDayRow::localDate, Function.identity()));
+
+        List<CohortDayDto> days = new ArrayList<>();
+        long totalRounds = 0;
+
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+
+            CohortDayRow row = rowsByDate.get(date);
+
+            long rounds = row == null ? 0 : row.totalRounds();
+            long active = row == null ? 0 : row.activeUsers();
+            long committed = row == null ? 0 : row.committedUsers();
+
+            totalRounds += rounds;
+
+            days.add(CohortDayDto.builder()
+                    .chantingDate(date)
+                    .totalRounds(rounds)
+                    .averageRounds(ratio(rounds, userCount))
+                    .activeUsers(active)
+                    .committedUsers(committed)
+                    .committedShare(ratio(committed, userCount))
+                    .build());
+        }
+
+        return FacilitatorCohortDashboardDto.builder()
+                .userCount(userCount)
+                .totalRounds(totalRounds)
+                .averageRounds(ratio(totalRounds, userCount * days.size()))
+                .days(days)
+                .build();
+    }
+
+    private BigDecimal ratio(long numerator, long denominator) {
+        if (denominator == 0) {
+            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        }
+        return BigDecimal.valueOf(numerator)
+                .divide(BigDecimal.valueOf(denominator), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,220 @@
+package com.one.kc.chanting.service;
+
+import com.one.kc.chanting.dto.ChantingDashboardResponseDto;
+import com.one.kc.common.enums.DashboardRange;
+import com.one.kc.common.utils.LoggerUtils;
+import com.one.kc.common.utils.TransactionUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Redis cache of computed dashboards for the common ranges.
+ *
+ * <p>
+ * Entries are keyed by user, {@link DashboardRange} and the current day,
+ * so they roll over at midnight on their own. Chanting writes evict only
+ * the ranges that contain the written day, after the transaction commits.
+ * Redis failures degrade to a cache miss.
+ * </p>
+ *
+ * <p>
+ * Each eviction also bumps a per-user generation. A read that missed
+ * carries the generation it saw to {@link #put}, which stores the entry
+ * only if the generation is unchanged, so a dashboard built before a
+ * concurrent write committed is never cached after that write's eviction.
+ * </p>
+ */
+@Service
+public class DashboardCacheService {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(DashboardCacheService.class);
+
+    private static final String DASHBOARD_PREFIX = "dashboard:";
+    private static final String GENERATION_PREFIX = "dashboard-generation:";
+    private static final Duration TTL = Duration.ofDays(1);
+
+    /** Outlives every entry stored under an older generation. */
+    private static final Duration GENERATION_TTL = TTL.multipliedBy(2);
+
+    /**
+     * KEYS: generation, entry. ARGV: expected generation, value, TTL in
+     * seconds. A missing generation counts as "0".
+     */
+    private static final RedisScript<Long> SET_IF_GENERATION = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[1]) or '0') == ARGV[1] then
+                redis.call('SET', KEYS[2], ARGV[2], 'EX', ARGV[3])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * KEYS: generation, then the entries to drop. ARGV: generation TTL in
+     * seconds. Returns the number of entries dropped.
+     */
+    private static final RedisScript<Long> BUMP_AND_DELETE = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[1])
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            if #KEYS == 1 then
+                return 0
+            end
+            return redis.call('DEL', unpack(KEYS, 2))
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JsonMapper jsonMapper;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public DashboardCacheService(
+            StringRedisTemplate redisTemplate,
+            JsonMapper jsonMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.jsonMapper = jsonMapper;
+        this.hitCounter = Counter.builder("kc.dashboard.cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("kc.dashboard.cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("kc.dashboard.cache.evictions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached dashboard, if any, and the generation to pass to {@link #put}
+     * when it has to be built.
+     */
+    public Lookup get(
+            Long userId,
+            DashboardRange range,
+            LocalDate today
+    ) {
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(
+                    List.of(key(userId, range, today), generationKey(userId))
+            );
+
+            String json = values == null ? null : values.get(0);
+            String generation = values == null || values.get(1) == null ? "0" : values.get(1);
+
+            if (json == null) {
+                missCounter.increment();
+                return new Lookup(null, generation);
+            }
+
+            hitCounter.increment();
+            return new Lookup(jsonMapper.readValue(json, ChantingDashboardResponseDto.class), generation);
+
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Dashboard cache read failed", e);
+            missCounter.increment();
+            return new Lookup(null, null);
+        }
+    }
+
+    /**
+     * Stores a dashboard unless the user's entries were evicted since
+     * {@code generation} was read.
+     */
+    public void put(
+            Long userId,
+            DashboardRange range,
+            LocalDate today,
+            String generation,
+            ChantingDashboardResponseDto dashboard
+    ) {
+        if (generation == null) {
+            return;
+        }
+
+        try {
+            redisTemplate.execute(
+                    SET_IF_GENERATION,
+                    List.of(generationKey(userId), key(userId, range, today)),
+                    generation,
+                    jsonMapper.writeValueAsString(dashboard),
+                    String.valueOf(TTL.toSeconds())
+            );
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Dashboard cache write failed", e);
+        }
+    }
+
+    /**
+     * Evicts, after commit, the cached ranges of a user containing {@code date}.
+     */
+    public void evictAfterCommit(Long userId, LocalDate date, LocalDate today) {
+        List<String> keys = Arrays.stream(DashboardRange.values())
+                .filter(range -> range.contains(date, today))
+                .map(range -> key(userId, range, today))
+                .toList();
+
+        TransactionUtils.afterCommit(() -> evict(userId, keys));
+    }
+
+    /**
+     * Evicts, after commit, every cached range of a user.
+     */
+    public void evictAllAfterCommit(Long userId, LocalDate today) {
+        List<String> keys = Arrays.stream(DashboardRange.values())
+                .map(range -> key(userId, range, today))
+                .toList();
+
+        TransactionUtils.afterCommit(() -> evict(userId, keys));
+    }
+
+    /**
+     * Bumps the generation even without entries to drop, so builds already
+     * running cannot store what they read before the write.
+     */
+    private void evict(Long userId, List<String> keys) {
+
+        List<String> scriptKeys = new ArrayList<>();
+        scriptKeys.add(generationKey(userId));
+        scriptKeys.addAll(keys);
+
+        try {
+            Long deleted = redisTemplate.execute(
+                    BUMP_AND_DELETE,
+                    scriptKeys,
+                    String.valueOf(GENERATION_TTL.toSeconds())
+            );
+            evictionCounter.increment(deleted == null ? 0 : deleted);
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Dashboard cache eviction failed", e);
+        }
+    }
+
+    private String key(Long userId, DashboardRange range, LocalDate today) {
+        return DASHBOARD_PREFIX + userId + ":" + range.name() + ":" + today;
+    }
+
+    private String generationKey(Long userId) {
+        return GENERATION_PREFIX + userId;
+    }
+
+    /**
+     * @param dashboard null on a miss
+     * @param generation null if Redis is unavailable, which skips the put
+     */
+    public record Lookup(ChantingDashboardResponseDto dashboard, String generation) {
+    }
+}
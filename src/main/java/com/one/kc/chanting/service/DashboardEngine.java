@@ -0,0 +1,92 @@
+package com.one.kc.chanting.service;
+
+import com.one.kc.chanting.entity.ChantingDailySummary;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Dashboard arithmetic over primitive buffers.
+ *
+ * <p>
+ * A series is an {@code int[]} where index {@code i} is the i-th day (or
+ * bucket) of the range, so aggregation needs no boxed maps and no per-day
+ * objects. DTOs are created lazily from the buffer by
+ * {@link com.one.kc.chanting.dto.DashboardSeries} while the response is
+ * serialized.
+ * </p>
+ */
+public final class DashboardEngine {
+
+    private DashboardEngine() {}
+
+    public record Streak(int current, int longest, LocalDate lastDate) {}
+
+    /**
+     * Rounds per day of [from, to]; index {@code i} is {@code from + i}
+     * days. Rows outside the range are ignored.
+     */
+    public static int[] dailyRounds(
+            List<ChantingDailySummary> summaries,
+            LocalDate from,
+            LocalDate to
+    ) {
+
+        long start = from.toEpochDay();
+        int[] rounds = new int[(int) (to.toEpochDay() - start + 1)];
+
+        for (ChantingDailySummary summary : summaries) {
+            long index = summary.getLocalDate().toEpochDay() - start;
+            if (index >= 0 && index < rounds.length) {
+                rounds[(int) index] += summary.getRounds();
+            }
+        }
+
+        return rounds;
+    }
+
+    public static int total(int[] rounds) {
+        int total = 0;
+        for (int value : rounds) {
+            total += value;
+        }
+        return total;
+    }
+
+    /**
+     * Average rounds per day of [from, to], rounded half up to two
+     * decimals in integer arithmetic.
+     */
+    public static BigDecimal average(int totalRounds, LocalDate from, LocalDate to) {
+
+        long days = to.toEpochDay() - from.toEpochDay() + 1;
+        long scaled = (long) totalRounds * 100;
+
+        // Half up (away from zero) on the absolute value
+        long unscaled = (Math.abs(scaled) * 2 + days) / (days * 2);
+
+        return BigDecimal.valueOf(scaled < 0 ? -unscaled : unscaled, 2);
+    }
+
+    /**
+     * Latest and longest run of consecutive dates.
+     *
+     * @param dates qualifying dates in ascending order
+     */
+    public static Streak streak(List<LocalDate> dates) {
+
+        int run = 0;
+        int longest = 0;
+        long previous = Long.MIN_VALUE;
+
+        for (LocalDate date : dates) {
+            long epochDay = date.toEpochDay();
+            run = epochDay == previous + 1 ? run + 1 : 1;
+            longest = Math.max(longest, run);
+            previous = epochDay;
+        }
+
+        return new Streak(run, longest, dates.isEmpty() ? null : dates.getLast());
+    }
+}
@@ -0,0 +1,308 @@
+package com.one.kc.chanting.service;
+
+import com.one.kc.chanting.dto.FacilitatorTodayDto;
+import com.one.kc.chanting.dto.FacilitatorUserRoundsDto;
+import com.one.kc.chanting.repository.ChantingDailySummaryRepository;
+import com.one.kc.common.utils.LoggerUtils;
+import com.one.kc.common.utils.TransactionUtils;
+import com.one.kc.user.entity.User;
+import com.one.kc.user.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Live "today" leaderboard of a facilitator's users, kept in a Redis
+ * sorted set per facilitator and day (member = userId, score = rounds).
+ *
+ * <p>
+ * - Chanting writes set the user's score to their committed total through
+ *   the outbox, but only if the set already exists; setting the total
+ *   rather than adding the delta keeps redelivered events harmless
+ * - A missing set is rebuilt from the daily summary on the next read by
+ *   the instance holding a short rebuild lock; updates arriving meanwhile
+ *   are queued and re-read from the summary once the set is stored, so
+ *   none are lost; other readers are served from MySQL until then
+ * - Every set holds the {@link #EMPTY_MEMBER} sentinel, so an idle
+ *   facilitator's board is cached too
+ * - Assigning users to or removing them from a facilitator evicts the set
+ * </p>
+ *
+ * <p>
+ * Sets still expire after {@link #REBUILD_TTL} as a backstop.
+ * </p>
+ */
+@Service
+public class FacilitatorLeaderboardService {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(FacilitatorLeaderboardService.class);
+
+    private static final String LEADERBOARD_PREFIX = "leaderboard:";
+    private static final String REBUILD_LOCK_SUFFIX = ":rebuild";
+    private static final String PENDING_SUFFIX = ":pending";
+    private static final Duration REBUILD_TTL = Duration.ofMinutes(15);
+    private static final Duration REBUILD_LOCK_TTL = Duration.ofSeconds(10);
+
+    /** Scored below every user and never returned. */
+    private static final String EMPTY_MEMBER = "-";
+    private static final double EMPTY_SCORE = -1;
+
+    /**
+     * KEYS: board, rebuild lock, pending. ARGV: rounds, userId, pending
+     * TTL in seconds. Returns 1 if applied, 2 if queued for a running
+     * rebuild, 0 if there is no board.
+     */
+    private static final RedisScript<Long> SET_IF_EXISTS = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2])
+                return 1
+            end
+            if redis.call('EXISTS', KEYS[2]) == 1 then
+                redis.call('SADD', KEYS[3], ARGV[2])
+                redis.call('EXPIRE', KEYS[3], ARGV[3])
+                return 2
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * KEYS: board, rebuild lock, pending. ARGV: lock token, TTL in
+     * seconds, then rounds and userId pairs. Stores the board if the lock
+     * is still held, releases it and returns the queued user ids.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> STORE_REBUILD = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[2]) ~= ARGV[1] then
+                return {}
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('ZADD', KEYS[1], ARGV[3], ARGV[4])
+            for i = 5, #ARGV, 2 do
+                redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            local pending = redis.call('SMEMBERS', KEYS[3])
+            redis.call('DEL', KEYS[2], KEYS[3])
+            return pending
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChantingDailySummaryRepository summaryRepository;
+    private final UserRepository userRepository;
+
+    public FacilitatorLeaderboardService(
+            StringRedisTemplate redisTemplate,
+            ChantingDailySummaryRepository summaryRepository,
+            UserRepository userRepository
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.summaryRepository = summaryRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Sets a user's score on their facilitator's leaderboard to their
+     * committed total of the day. Called by the outbox relay once the
+     * write has committed; applying it twice has no further effect.
+     */
+    public void update(
+            Long facilitatorId,
+            Long userId,
+            LocalDate date
+    ) {
+        String key = key(facilitatorId, date);
+
+        try {
+            apply(key, userId, summaryRepository.findRounds(userId, date).orElse(0));
+        } catch (RuntimeException e) {
+            // The set would now be wrong; drop it so it gets rebuilt
+            LoggerUtils.error(logger, "Leaderboard update failed", e);
+            delete(List.of(key));
+        }
+    }
+
+    /**
+     * Drops a facilitator's leaderboards after commit, e.g. when a user
+     * is created for, assigned to or removed from the facilitator.
+     * Readers key the board by their own today, so every day that is
+     * today somewhere is dropped.
+     */
+    public void evictAfterCommit(Long facilitatorId) {
+        LocalDate utcToday = LocalDate.now(ZoneOffset.UTC);
+        List<String> keys = List.of(
+                key(facilitatorId, utcToday.minusDays(1)),
+                key(facilitatorId, utcToday),
+                key(facilitatorId, utcToday.plusDays(1))
+        );
+        TransactionUtils.afterCommit(() -> delete(keys));
+    }
+
+    /**
+     * Page of a facilitator's users ordered by rounds on the given day.
+     */
+    public Page<FacilitatorTodayDto> getPage(
+            Long facilitatorId,
+            LocalDate date,
+            Pageable pageable
+    ) {
+        String key = key(facilitatorId, date);
+        ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(key))
+                && !rebuild(key, facilitatorId, date)) {
+            return getPageFromDatabase(facilitatorId, date, pageable);
+        }
+
+        Long total = zSet.count(key, 0, Double.POSITIVE_INFINITY);
+
+        Set<ZSetOperations.TypedTuple<String>> entries = zSet.reverseRangeByScoreWithScores(
+                key,
+                0,
+                Double.POSITIVE_INFINITY,
+                pageable.getOffset(),
+                pageable.getPageSize()
+        );
+
+        if (entries == null || entries.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, total == null ? 0 : total);
+        }
+
+        List<FacilitatorUserRoundsDto> rows = entries.stream()
+                .map(entry -> new FacilitatorUserRoundsDto(
+                        Long.parseLong(entry.getValue()),
+                        entry.getScore() == null ? 0L : entry.getScore().longValue()
+                ))
+                .toList();
+
+        return new PageImpl<>(toDtos(rows), pageable, total == null ? 0 : total);
+    }
+
+    /**
+     * Used while another instance rebuilds the set.
+     */
+    private Page<FacilitatorTodayDto> getPageFromDatabase(
+            Long facilitatorId,
+            LocalDate date,
+            Pageable pageable
+    ) {
+        List<FacilitatorUserRoundsDto> rows = summaryRepository.findFacilitatorUsersRounds(facilitatorId, date)
+                .stream()
+                .sorted(Comparator.comparing(FacilitatorUserRoundsDto::getTotalRounds).reversed())
+                .toList();
+
+        int from = (int) Math.min(pageable.getOffset(), rows.size());
+        int to = Math.min(from + pageable.getPageSize(), rows.size());
+
+        return new PageImpl<>(toDtos(rows.subList(from, to)), pageable, rows.size());
+    }
+
+    private List<FacilitatorTodayDto> toDtos(List<FacilitatorUserRoundsDto> rows) {
+
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        rows.forEach(row -> userIds.add(row.getUserId()));
+
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        List<FacilitatorTodayDto> content = new ArrayList<>();
+
+        for (FacilitatorUserRoundsDto row : rows) {
+            User user = users.get(row.getUserId());
+            if (user == null) {
+                continue;
+            }
+            content.add(new FacilitatorTodayDto(user.getFirstName(), user.getLastName(), row.getTotalRounds()));
+        }
+
+        return content;
+    }
+
+    /**
+     * Rebuilds the set under the rebuild lock; false if another instance
+     * holds it.
+     */
+    private boolean rebuild(String key, Long facilitatorId, LocalDate date) {
+
+        String token = UUID.randomUUID().toString();
+
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(key + REBUILD_LOCK_SUFFIX, token, REBUILD_LOCK_TTL))) {
+            return false;
+        }
+
+        List<String> args = new ArrayList<>();
+        args.add(token);
+        args.add(String.valueOf(REBUILD_TTL.toSeconds()));
+        args.add(String.valueOf(EMPTY_SCORE));
+        args.add(EMPTY_MEMBER);
+
+        for (FacilitatorUserRoundsDto row : summaryRepository.findFacilitatorUsersRounds(facilitatorId, date)) {
+            args.add(String.valueOf(row.getTotalRounds()));
+            args.add(String.valueOf(row.getUserId()));
+        }
+
+        List<?> pending = redisTemplate.execute(
+                STORE_REBUILD,
+                List.of(key, key + REBUILD_LOCK_SUFFIX, key + PENDING_SUFFIX),
+                args.toArray()
+        );
+
+        // Written after our snapshot was read; re-read now that they are committed
+        if (pending != null) {
+            for (Object userId : pending) {
+                Long id = Long.valueOf(userId.toString());
+                apply(key, id, summaryRepository.findRounds(id, date).orElse(0));
+            }
+        }
+
+        return true;
+    }
+
+    private void apply(String key, Long userId, int rounds) {
+        redisTemplate.execute(
+                SET_IF_EXISTS,
+                List.of(key, key + REBUILD_LOCK_SUFFIX, key + PENDING_SUFFIX),
+                String.valueOf(rounds),
+                String.valueOf(userId),
+                String.valueOf(REBUILD_LOCK_TTL.toSeconds())
+        );
+    }
+
+    private void delete(List<String> keys) {
+        try {
+            redisTemplate.delete(keys);
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Leaderboard eviction failed", e);
+        }
+    }
+
+    private String key(Long facilitatorId, LocalDate date) {
+        return LEADERBOARD_PREFIX + facilitatorId + ":" + date;
+    }
+}
@@ -0,0 +1,466 @@
+package com.one.kc.chanting.service;
+
+import com.one.kc.chanting.dto.GroupDistributionDto;
+import com.one.kc.chanting.dto.UserPercentileDto;
+import com.one.kc.chanting.repository.ChantingDailySummaryRepository;
+import com.one.kc.common.constants.GroupConstants;
+import com.one.kc.common.exceptions.UserFacingException;
+import com.one.kc.common.utils.LoggerUtils;
+import com.one.kc.group.entity.Group;
+import com.one.kc.group.repository.GroupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Distribution of daily rounds per root group and day, kept in a Redis
+ * hash per group and day (field = a user's daily total, value = number
+ * of users with that total).
+ *
+ * <p>
+ * Daily totals are small integers, so the exact histogram is as compact
+ * as a quantile sketch, merges by adding counts and, unlike a sketch,
+ * supports the decrements caused by edits and deletes. Percentiles are
+ * computed in memory from one {@code HGETALL}.
+ * </p>
+ *
+ * <p>
+ * - A companion hash per group and day holds each counted user's total
+ * - Both hashes are built from the daily summary on first read of a day
+ *   and then maintained from the outbox, which moves a user from their
+ *   stored total to the committed one; redelivered events are no-ops
+ * - {@link #reconcile()} rebuilds the recent days of every root group to
+ *   repair drift, e.g. from users moved between groups
+ * - Every rebuild sets both hashes to expire after {@link #RETENTION}, so
+ *   only the recent days reconcile keeps rebuilding stay in Redis; older
+ *   days are rebuilt from the daily summary when read again
+ * - Rebuilds hold a short lock; updates arriving meanwhile are queued and
+ *   re-applied once the rebuilt hashes are stored
+ * </p>
+ */
+@Service
+public class GroupDistributionService {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(GroupDistributionService.class);
+
+    private static final String DISTRIBUTION_PREFIX = "distribution:";
+    private static final String USERS_PREFIX = "distribution-users:";
+    private static final String REBUILD_LOCK_SUFFIX = ":rebuild";
+    private static final String PENDING_SUFFIX = ":pending";
+    private static final Duration REBUILD_LOCK_TTL = Duration.ofSeconds(30);
+    private static final Duration RETENTION = Duration.ofDays(2);
+
+    /**
+     * KEYS: counts, users, rebuild lock, pending. ARGV: userId, committed
+     * total, pending TTL in seconds. The user's stored total makes the
+     * move idempotent; a users hash created here inherits the expiry of
+     * the counts hash.
+     */
+    private static final RedisScript<Long> MOVE_IF_EXISTS = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[3]) == 1 then
+                redis.call('SADD', KEYS[4], ARGV[1])
+                redis.call('EXPIRE', KEYS[4], ARGV[3])
+            end
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            local previous = tonumber(redis.call('HGET', KEYS[2], ARGV[1]) or '0')
+            local total = tonumber(ARGV[2])
+            if previous == total then
+                return 1
+            end
+            if previous > 0 then
+                redis.call('HINCRBY', KEYS[1], previous, -1)
+            end
+            if total > 0 then
+                redis.call('HINCRBY', KEYS[1], total, 1)
+                redis.call('HSET', KEYS[2], ARGV[1], total)
+                local ttl = redis.call('PTTL', KEYS[1])
+                if ttl > 0 then
+                    redis.call('PEXPIRE', KEYS[2], ttl)
+                end
+            else
+                redis.call('HDEL', KEYS[2], ARGV[1])
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS: counts, users, rebuild lock, pending. ARGV: lock token,
+     * retention in seconds, then userId and total pairs. Replaces both
+     * hashes with the same expiry if the lock is still held, releases it
+     * and returns the queued user ids. Field "0" keeps the counts hash of
+     * a day without chanting; it is never counted.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> REPLACE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[3]) ~= ARGV[1] then
+                return {}
+            end
+            redis.call('DEL', KEYS[1], KEYS[2])
+            redis.call('HSET', KEYS[1], '0', '0')
+            for i = 3, #ARGV, 2 do
+                redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 1])
+                redis.call('HINCRBY', KEYS[1], ARGV[i + 1], 1)
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[2])
+            local pending = redis.call('SMEMBERS', KEYS[4])
+            redis.call('DEL', KEYS[3], KEYS[4])
+            return pending
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChantingDailySummaryRepository summaryRepository;
+    private final GroupRepository groupRepository;
+
+    public GroupDistributionService(
+            StringRedisTemplate redisTemplate,
+            ChantingDailySummaryRepository summaryRepository,
+            GroupRepository groupRepository
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.summaryRepository = summaryRepository;
+        this.groupRepository = groupRepository;
+    }
+
+    /**
+     * Moves a user to their committed daily total. Called by the outbox
+     * relay once the write has committed; applying it twice has no
+     * further effect.
+     */
+    public void update(
+            Long rootGroupId,
+            Long userId,
+            LocalDate date
+    ) {
+        try {
+            apply(rootGroupId, date, userId, summaryRepository.findRounds(userId, date).orElse(0));
+        } catch (RuntimeException e) {
+            // The hashes would now be wrong; drop them so they get rebuilt
+            LoggerUtils.error(logger, "Group distribution update failed", e);
+            delete(rootGroupId, date);
+        }
+    }
+
+    /**
+     * Rebuilds yesterday, today and tomorrow (UTC) of every root group,
+     * which covers today in every time zone plus late edits.
+     */
+    @Scheduled(cron = "${group-distribution.reconcile-cron:0 */15 * * * *}", zone = "UTC")
+    public void reconcile() {
+
+        LocalDate utcToday = LocalDate.now(ZoneOffset.UTC);
+
+        for (String rootGroupName : List.of(GroupConstants.MALE_ROOT, GroupConstants.FEMALE_ROOT)) {
+
+            Optional<Group> rootGroup = groupRepository.findByName(rootGroupName);
+
+            if (rootGroup.isEmpty()) {
+                continue;
+            }
+
+            for (LocalDate date = utcToday.minusDays(1); !date.isAfter(utcToday.plusDays(1)); date = date.plusDays(1)) {
+                try {
+                    rebuild(rootGroup.get().getGroupId(), date);
+                } catch (RuntimeException e) {
+                    LoggerUtils.error(logger, "Group distribution reconcile of {} failed", e, date);
+                }
+            }
+        }
+    }
+
+    /**
+     * Summary statistics and the requested percentiles (nearest rank) of
+     * a root group's day.
+     *
+     * @param percentiles values in (0, 100]
+     */
+    public GroupDistributionDto getDistribution(
+            Long rootGroupId,
+            LocalDate date,
+            List<Integer> percentiles
+    ) {
+
+        for (Integer percentile : percentiles) {
+            if (percentile == null || percentile <= 0 || percentile > 100) {
+                throw new UserFacingException("Percentiles must be between 1 and 100");
+            }
+        }
+
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(key(rootGroupId, date));
+
+        Histogram histogram = entries.isEmpty()
+                ? Histogram.ofTotals(rebuild(rootGroupId, date).values())
+                : Histogram.ofEntries(entries);
+
+        Map<String, Integer> values = new LinkedHashMap<>();
+        percentiles.forEach(percentile ->
+                values.put("p" + percentile, histogram.percentile(percentile)));
+
+        return GroupDistributionDto.builder()
+                .rootGroupId(String.valueOf(rootGroupId))
+                .date(date)
+                .userCount(histogram.userCount())
+                .minRounds(histogram.isEmpty() ? null : histogram.values()[0])
+                .maxRounds(histogram.isEmpty() ? null : histogram.values()[histogram.values().length - 1])
+                .averageRounds(histogram.average())
+                .percentiles(values)
+                .build();
+    }
+
+    /**
+     * Share of the group's users below the user's total of the day,
+     * counting ties as half (mid-rank), in percent. The user's total is
+     * read from the companion hash too.
+     */
+    public UserPercentileDto getPercentileRank(
+            Long userId,
+            Long rootGroupId,
+            LocalDate date
+    ) {
+
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(key(rootGroupId, date));
+
+        Histogram histogram;
+        int rounds;
+
+        if (entries.isEmpty()) {
+            Map<Long, Integer> totals = rebuild(rootGroupId, date);
+            histogram = Histogram.ofTotals(totals.values());
+            rounds = totals.getOrDefault(userId, 0);
+        } else {
+            histogram = Histogram.ofEntries(entries);
+            Object total = redisTemplate.opsForHash().get(usersKey(rootGroupId, date), String.valueOf(userId));
+            rounds = total == null ? 0 : Integer.parseInt(total.toString());
+        }
+
+        return UserPercentileDto.builder()
+                .userId(String.valueOf(userId))
+                .date(date)
+                .rounds(rounds)
+                .percentileRank(histogram.percentileRank(rounds))
+                .groupUserCount(histogram.userCount())
+                .build();
+    }
+
+    /**
+     * Reads the day's totals (users with rounds only) from the daily
+     * summary and, if the rebuild lock can be taken, stores them. Without
+     * the lock another instance is rebuilding and the totals are only
+     * returned.
+     */
+    private Map<Long, Integer> rebuild(Long rootGroupId, LocalDate date) {
+
+        String token = UUID.randomUUID().toString();
+        boolean locked = Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(lockKey(rootGroupId, date), token, REBUILD_LOCK_TTL));
+
+        Map<Long, Integer> totals = new HashMap<>();
+
+        for (Object[] row : summaryRepository.findRootGroupDailyTotals(rootGroupId, date)) {
+            totals.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+        }
+
+        if (!locked) {
+            return totals;
+        }
+
+        List<String> args = new ArrayList<>();
+        args.add(token);
+        args.add(String.valueOf(RETENTION.toSeconds()));
+        totals.forEach((userId, total) -> {
+            args.add(String.valueOf(userId));
+            args.add(String.valueOf(total));
+        });
+
+        try {
+            List<?> pending = redisTemplate.execute(REPLACE, keys(rootGroupId, date), args.toArray());
+
+            // Written after our snapshot was read; re-read now that they are committed
+            if (pending != null) {
+                for (Object userId : pending) {
+                    Long id = Long.valueOf(userId.toString());
+                    apply(rootGroupId, date, id, summaryRepository.findRounds(id, date).orElse(0));
+                }
+            }
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Group distribution rebuild could not be stored", e);
+        }
+
+        return totals;
+    }
+
+    private void apply(Long rootGroupId, LocalDate date, Long userId, int total) {
+        redisTemplate.execute(
+                MOVE_IF_EXISTS,
+                keys(rootGroupId, date),
+                String.valueOf(userId),
+                String.valueOf(total),
+                String.valueOf(REBUILD_LOCK_TTL.toSeconds())
+        );
+    }
+
+    private void delete(Long rootGroupId, LocalDate date) {
+        try {
+            redisTemplate.delete(List.of(key(rootGroupId, date), usersKey(rootGroupId, date)));
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Group distribution eviction failed", e);
+        }
+    }
+
+    private List<String> keys(Long rootGroupId, LocalDate date) {
+        return List.of(
+                key(rootGroupId, date),
+                usersKey(rootGroupId, date),
+                lockKey(rootGroupId, date),
+                key(rootGroupId, date) + PENDING_SUFFIX
+        );
+    }
+
+    private String lockKey(Long rootGroupId, LocalDate date) {
+        return key(rootGroupId, date) + REBUILD_LOCK_SUFFIX;
+    }
+
+    private String key(Long rootGroupId, LocalDate date) {
+        return DISTRIBUTION_PREFIX + rootGroupId + ":" + date;
+    }
+
+    private String usersKey(Long rootGroupId, LocalDate date) {
+        return USERS_PREFIX + rootGroupId + ":" + date;
+    }
+
+    /**
+     * Distinct daily totals in ascending order with the number of users
+     * at or below each one.
+     */
+    record Histogram(int[] values, long[] cumulative) {
+
+        /** From the counts hash; counts that dipped to zero are skipped. */
+        static Histogram ofEntries(Map<Object, Object> entries) {
+
+            TreeMap<Integer, Long> counts = new TreeMap<>();
+
+            entries.forEach((field, value) -> {
+                long count = Long.parseLong(value.toString());
+                if (count > 0) {
+                    counts.put(Integer.valueOf(field.toString()), count);
+                }
+            });
+
+            return of(counts);
+        }
+
+        static Histogram ofTotals(Collection<Integer> totals) {
+
+            TreeMap<Integer, Long> counts = new TreeMap<>();
+            totals.forEach(total -> counts.merge(total, 1L, Long::sum));
+
+            return of(counts);
+        }
+
+        static Histogram of(TreeMap<Integer, Long> counts) {
+
+            int[] values = new int[counts.size()];
+            long[] cumulative = new long[counts.size()];
+
+            int i = 0;
+            long running = 0;
+
+            for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+                running += entry.getValue();
+                values[i] = entry.getKey();
+                cumulative[i] = running;
+                i++;
+            }
+
+            return new Histogram(values, cumulative);
+        }
+
+        boolean isEmpty() {
+            return values.length == 0;
+        }
+
+        long userCount() {
+            return isEmpty() ? 0 : cumulative[cumulative.length - 1];
+        }
+
+        Integer percentile(int percentile) {
+
+            if (isEmpty()) {
+                return null;
+            }
+
+            long rank = Math.max(1, (userCount() * percentile + 99) / 100);
+
+            for (int i = 0; i < values.length; i++) {
+                if (cumulative[i] >= rank) {
+                    return values[i];
+                }
+            }
+
+            return values[values.length - 1];
+        }
+
+        BigDecimal percentileRank(int rounds) {
+
+            if (isEmpty()) {
+                return BigDecimal.ZERO.setScale(2);
+            }
+
+            long below = 0;
+            long equal = 0;
+
+            for (int i = 0; i < values.length; i++) {
+                long count = cumulative[i] - (i == 0 ? 0 : cumulative[i - 1]);
+                if (values[i] < rounds) {
+                    below += count;
+                } else if (values[i] == rounds) {
+                    equal = count;
+                }
+            }
+
+            // (below + equal / 2) / total, in percent
+            return BigDecimal.valueOf(below * 2 + equal)
+                    .multiply(BigDecimal.valueOf(50))
+                    .divide(BigDecimal.valueOf(userCount()), 2, RoundingMode.HALF_UP);
+        }
+
+        BigDecimal average() {
+
+            if (isEmpty()) {
+                return BigDecimal.ZERO.setScale(2);
+            }
+
+            long sum = 0;
+
+            for (int i = 0; i < values.length; i++) {
+                long count = cumulative[i] - (i == 0 ? 0 : cumulative[i - 1]);
+                sum += values[i] * count;
+            }
+
+            return BigDecimal.valueOf(sum)
+                    .divide(BigDecimal.valueOf(userCount()), 2, RoundingMode.HALF_UP);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.one.kc.chanting.service;
+
+import com.one.kc.common.exceptions.UserFacingException;
+import com.one.kc.common.utils.LoggerUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Makes chanting writes safe to retry with an {@code Idempotency-Key}
+ * header.
+ *
+ * <p>
+ * - The first successful response is stored in Redis for {@link #TTL}
+ *   and replayed for every retry with the same key
+ * - Concurrent duplicates are collapsed by a short-lived lock: the
+ *   followers wait briefly for the leader's response, else get 409
+ * - Reusing a key for a different request is rejected
+ * - Failed requests are not stored, so a retry runs again
+ * </p>
+ *
+ * <p>
+ * Keys are scoped per user and operation. Redis failures fall back to
+ * running the request without idempotency.
+ * </p>
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String IDEMPOTENCY_PREFIX = "idempotency:";
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final Duration LOCK_TTL = Duration.ofSeconds(30);
+    private static final Duration WAIT_FOR_LEADER = Duration.ofSeconds(5);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final StringRedisTemplate redisTemplate;
+    private final JsonMapper jsonMapper;
+    private final Counter executedCounter;
+    private final Counter replayedCounter;
+
+    public IdempotencyService(
+            StringRedisTemplate redisTemplate,
+            JsonMapper jsonMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.jsonMapper = jsonMapper;
+        this.executedCounter = Counter.builder("kc.idempotency.requests")
+                .tag("result", "executed")
+                .register(meterRegistry);
+        this.replayedCounter = Counter.builder("kc.idempotency.requests")
+                .tag("result", "replayed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code action} once per key, replaying its stored response for
+     * retries. Without a key the action simply runs.
+     *
+     * @param idempotencyKey client key, may be null
+     * @param userId         caller, keys are scoped per user
+     * @param operation      endpoint name, keys are scoped per operation
+     * @param request        request payload, fingerprinted to detect key reuse
+     * @param responseType   body type for replays
+     */
+    public <T> ResponseEntity<T> execute(
+            String idempotencyKey,
+            Long userId,
+            String operation,
+            Object request,
+            Class<T> responseType,
+            Supplier<ResponseEntity<T>> action
+    ) {
+
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new UserFacingException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String key = IDEMPOTENCY_PREFIX + userId + ":" + operation + ":" + idempotencyKey;
+        String lockKey = key + ":lock";
+        String fingerprint = fingerprint(request);
+
+        try {
+            Optional<ResponseEntity<T>> stored = findStored(key, fingerprint, responseType);
+            if (stored.isPresent()) {
+                return stored.get();
+            }
+
+            Boolean acquired = redisTemplate.opsForValue()
+                    .setIfAbsent(lockKey, fingerprint, LOCK_TTL);
+
+            if (!Boolean.TRUE.equals(acquired)) {
+                return waitForLeader(key, fingerprint, responseType);
+            }
+
+        } catch (UserFacingException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Idempotency store unavailable, executing request", e);
+            return action.get();
+        }
+
+        try {
+            ResponseEntity<T> response = action.get();
+            executedCounter.increment();
+
+            if (response.getStatusCode().is2xxSuccessful()) {
+                store(key, fingerprint, response);
+            }
+
+            return response;
+
+        } finally {
+            release(lockKey);
+        }
+    }
+
+    private <T> ResponseEntity<T> waitForLeader(
+            String key,
+            String fingerprint,
+            Class<T> responseType
+    ) {
+
+        long deadline = System.nanoTime() + WAIT_FOR_LEADER.toNanos();
+
+        while (System.nanoTime() < deadline) {
+
+            try {
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            Optional<ResponseEntity<T>> stored = findStored(key, fingerprint, responseType);
+            if (stored.isPresent()) {
+                return stored.get();
+            }
+        }
+
+        throw new UserFacingException(
+                "A request with this " + HEADER + " is still in progress",
+                HttpStatus.CONFLICT
+        );
+    }
+
+    private <T> Optional<ResponseEntity<T>> findStored(
+            String key,
+            String fingerprint,
+            Class<T> responseType
+    ) {
+
+        String json = redisTemplate.opsForValue().get(key);
+
+        if (json == null) {
+            return Optional.empty();
+        }
+
+        StoredResponse stored = jsonMapper.readValue(json, StoredResponse.class);
+
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new UserFacingException(HEADER + " was already used for a different request");
+        }
+
+        replayedCounter.increment();
+
+        T body = stored.body() == null
+                ? null
+                : jsonMapper.readValue(stored.body(), responseType);
+
+        return Optional.of(ResponseEntity.status(stored.status())
+                .header(REPLAYED_HEADER, "true")
+                .body(body));
+    }
+
+    private void store(String key, String fingerprint, ResponseEntity<?> response) {
+        try {
+            StoredResponse stored = new StoredResponse(
+                    response.getStatusCode().value(),
+                    fingerprint,
+                    response.getBody() == null ? null : jsonMapper.writeValueAsString(response.getBody())
+            );
+            redisTemplate.opsForValue().set(key, jsonMapper.writeValueAsString(stored), TTL);
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Idempotent response could not be stored", e);
+        }
+    }
+
+    private void release(String lockKey) {
+        try {
+            redisTemplate.delete(lockKey);
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Idempotency lock release failed", e);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        return DigestUtils.md5DigestAsHex(
+                jsonMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    record StoredResponse(int status, String fingerprint, String body) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.one.kc.common.cache;
+
+import java.util.List;
+
+/**
+ * Second-level cache entries changed by one committed transaction.
+ *
+ * @param nodeId      sender, which skips its own messages
+ * @param entities    changed entities (entity name, id)
+ * @param collections changed collections (collection role, owner id)
+ */
+public record CacheInvalidationMessage(
+        String nodeId,
+        List<CacheKey> entities,
+        List<CacheKey> collections
+) {
+
+    /**
+     * Cached entities and collection owners all use {@code Long} ids.
+     */
+    public record CacheKey(String role, Long id) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.one.kc.common.cache;
+
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Reports writes of cached entities and collections to
+ * {@link EntityCacheInvalidationService}, which broadcasts them once the
+ * transaction commits.
+ */
+class EntityCacheEventListener implements
+        PostInsertEventListener,
+        PostUpdateEventListener,
+        PostDeleteEventListener,
+        PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+
+    private final transient EntityCacheInvalidationService invalidationService;
+
+    EntityCacheEventListener(EntityCacheInvalidationService invalidationService) {
+        this.invalidationService = invalidationService;
+    }
+
+    // Inserts matter too: other nodes may hold "not found" query results
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        entityChanged(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        entityChanged(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        entityChanged(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        collectionChanged(event);
+    }
+
+    /**
+     * Broadcasting is deferred to the Spring transaction instead.
+     */
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void entityChanged(EntityPersister persister, Object id) {
+        if (persister.canWriteToCache()) {
+            invalidationService.entityChanged(persister.getEntityName(), id);
+        }
+    }
+
+    private void collectionChanged(AbstractCollectionEvent event) {
+
+        String role = event.getCollection().getRole();
+
+        boolean cached = event.getSession()
+                .getFactory()
+                .getMappingMetamodel()
+                .getCollectionDescriptor(role)
+                .hasCache();
+
+        if (cached) {
+            invalidationService.collectionChanged(role, event.getAffectedOwnerIdOrNull());
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.one.kc.common.cache;
+
+import com.one.kc.common.config.EntityCacheProperties;
+import com.one.kc.common.utils.LoggerUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.type.EntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the in-process second-level caches of all nodes in step.
+ *
+ * <p>
+ * - Hibernate events of cached entities and collections are collected per
+ *   transaction and published on {@code entity-cache.invalidation-channel}
+ *   as one message after commit
+ * - Other nodes evict the listed entries, every cached collection holding
+ *   a listed entity type, and the query cache; then evict once more after
+ *   {@code entity-cache.redelay}
+ * - The writing node keeps its own entries, which Hibernate already
+ *   updated
+ * </p>
+ *
+ * <p>
+ * A message lost while Redis is unavailable leaves other nodes stale until
+ * the region's expiry in {@code ehcache.xml}.
+ * </p>
+ */
+@Service
+public class EntityCacheInvalidationService implements MessageListener {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(EntityCacheInvalidationService.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+    private final JsonMapper jsonMapper;
+    private final TaskScheduler taskScheduler;
+    private final EntityCacheProperties properties;
+    private final SessionFactoryImplementor sessionFactory;
+
+    /** Cached collection roles by the entity name of their elements. */
+    private final Map<String, List<String>> collectionsByElement = new HashMap<>();
+
+    public EntityCacheInvalidationService(
+            StringRedisTemplate redisTemplate,
+            JsonMapper jsonMapper,
+            TaskScheduler taskScheduler,
+            EntityCacheProperties entityCacheProperties,
+            EntityManagerFactory entityManagerFactory
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.jsonMapper = jsonMapper;
+        this.taskScheduler = taskScheduler;
+        this.properties = entityCacheProperties;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+
+        sessionFactory.getMappingMetamodel().forEachCollectionDescriptor(collection -> {
+            if (collection.hasCache() && collection.getElementType() instanceof EntityType elementType) {
+                collectionsByElement
+                        .computeIfAbsent(elementType.getAssociatedEntityName(), name -> new ArrayList<>())
+                        .add(collection.getRole());
+            }
+        });
+
+        EntityCacheEventListener listener = new EntityCacheEventListener(this);
+        EventListenerRegistry registry =
+                sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+    }
+
+    void entityChanged(String entityName, Object id) {
+        if (id instanceof Long entityId) {
+            enlist(new CacheInvalidationMessage.CacheKey(entityName, entityId), false);
+        }
+    }
+
+    void collectionChanged(String role, Object ownerId) {
+        if (ownerId instanceof Long id) {
+            enlist(new CacheInvalidationMessage.CacheKey(role, id), true);
+        }
+    }
+
+    /**
+     * Evicts one owner's cached collection here and on every other node.
+     * Unlike the per-transaction messages a failed broadcast is thrown, so
+     * a caller such as an outbox handler can retry it.
+     */
+    public void evictCollection(String role, Long ownerId) {
+
+        sessionFactory.getCache().evictCollectionData(role, ownerId);
+
+        CacheInvalidationMessage message = new CacheInvalidationMessage(
+                nodeId,
+                List.of(),
+                List.of(new CacheInvalidationMessage.CacheKey(role, ownerId))
+        );
+
+        redisTemplate.convertAndSend(
+                properties.getInvalidationChannel(),
+                jsonMapper.writeValueAsString(message)
+        );
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+
+        CacheInvalidationMessage invalidation;
+
+        try {
+            invalidation = jsonMapper.readValue(message.getBody(), CacheInvalidationMessage.class);
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Unreadable entity cache invalidation", e);
+            return;
+        }
+
+        if (nodeId.equals(invalidation.nodeId())) {
+            return;
+        }
+
+        evict(invalidation);
+        taskScheduler.schedule(
+                () -> evict(invalidation),
+                Instant.now().plus(properties.getRedelay())
+        );
+    }
+
+    /**
+     * Adds a change to the current transaction's message, published after
+     * commit; outside a transaction it is published right away.
+     */
+    private void enlist(CacheInvalidationMessage.CacheKey key, boolean collection) {
+
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        PendingInvalidations pending = inTransaction ? transactionPending() : new PendingInvalidations();
+
+        (collection ? pending.collections() : pending.entities()).add(key);
+
+        if (!inTransaction) {
+            publish(pending);
+        }
+    }
+
+    private PendingInvalidations transactionPending() {
+
+        PendingInvalidations pending =
+                (PendingInvalidations) TransactionSynchronizationManager.getResource(this);
+
+        if (pending != null) {
+            return pending;
+        }
+
+        PendingInvalidations created = new PendingInvalidations();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(EntityCacheInvalidationService.this);
+            }
+        });
+
+        return created;
+    }
+
+    private void publish(PendingInvalidations pending) {
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        CacheInvalidationMessage message = new CacheInvalidationMessage(
+                nodeId,
+                List.copyOf(pending.entities()),
+                List.copyOf(pending.collections())
+        );
+
+        try {
+            redisTemplate.convertAndSend(
+                    properties.getInvalidationChannel(),
+                    jsonMapper.writeValueAsString(message)
+            );
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Entity cache invalidation could not be published", e);
+        }
+    }
+
+    private void evict(CacheInvalidationMessage invalidation) {
+
+        Cache cache = sessionFactory.getCache();
+
+        try {
+            for (CacheInvalidationMessage.CacheKey entity : invalidation.entities()) {
+                cache.evictEntityData(entity.role(), entity.id());
+                // Inverse collections are not reported when only their elements change
+                collectionsByElement.getOrDefault(entity.role(), List.of())
+                        .forEach(cache::evictCollectionData);
+            }
+
+            for (CacheInvalidationMessage.CacheKey collection : invalidation.collections()) {
+                cache.evictCollectionData(collection.role(), collection.id());
+            }
+
+            cache.evictDefaultQueryRegion();
+
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Entity cache eviction failed", e);
+        }
+    }
+
+    private record PendingInvalidations(
+            Set<CacheInvalidationMessage.CacheKey> entities,
+            Set<CacheInvalidationMessage.CacheKey> collections
+    ) {
+
+        PendingInvalidations() {
+            this(new LinkedHashSet<>(), new LinkedHashSet<>());
+        }
+
+        boolean isEmpty() {
+            return entities.isEmpty() && collections.isEmpty();
+        }
+    }
+}
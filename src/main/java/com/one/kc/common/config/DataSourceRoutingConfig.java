@@ -0,0 +1,109 @@
+package com.one.kc.common.config;
+
+import com.one.kc.common.datasource.ReadYourWritesInterceptor;
+import com.one.kc.common.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Primary plus read replicas, enabled by {@code datasource-routing.enabled}.
+ *
+ * <p>
+ * - The primary pool is still configured by {@code spring.datasource}
+ *   and {@code spring.datasource.hikari}
+ * - Each replica gets its own read-only Hikari pool
+ * - The {@link Primary} data source used by JPA routes lazily, see
+ *   {@link ReplicaRoutingDataSource}
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource-routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig implements WebMvcConfigurer {
+
+    private final DataSourceRoutingProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final AuditorAware<Long> auditorAware;
+
+    public DataSourceRoutingConfig(
+            DataSourceRoutingProperties properties,
+            StringRedisTemplate redisTemplate,
+            AuditorAware<Long> auditorAware
+    ) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.auditorAware = auditorAware;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties dataSourceProperties
+    ) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            replicas.add(replicaPool(i, properties.getReplicas().get(i), dataSourceProperties));
+        }
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(
+                redisTemplate,
+                auditorAware,
+                properties.getReadYourWritesWindow()
+        ));
+    }
+
+    private HikariDataSource replicaPool(
+            int index,
+            DataSourceRoutingProperties.Replica replica,
+            DataSourceProperties dataSourceProperties
+    ) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("KC-Replica-" + index);
+        config.setJdbcUrl(replica.getUrl());
+        config.setUsername(replica.getUsername() == null
+                ? dataSourceProperties.getUsername()
+                : replica.getUsername());
+        config.setPassword(replica.getPassword() == null
+                ? dataSourceProperties.getPassword()
+                : replica.getPassword());
+        config.setDriverClassName(dataSourceProperties.getDriverClassName());
+        config.setMaximumPoolSize(replica.getMaximumPoolSize());
+        config.setReadOnly(true);
+
+        return new HikariDataSource(config);
+    }
+}
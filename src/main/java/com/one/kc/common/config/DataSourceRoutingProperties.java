@@ -0,0 +1,46 @@
+package com.one.kc.common.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "datasource-routing")
+@Data
+@Validated
+public class DataSourceRoutingProperties {
+
+    /** Off by default; everything then uses {@code spring.datasource}. */
+    private boolean enabled = false;
+
+    /**
+     * How long a user's reads stay on the primary after one of their
+     * writes; should exceed the usual replica lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Valid
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+
+        @NotBlank
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        @Min(1)
+        private int maximumPoolSize = 10;
+    }
+}
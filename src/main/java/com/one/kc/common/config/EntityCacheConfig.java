@@ -0,0 +1,31 @@
+package com.one.kc.common.config;
+
+import com.one.kc.common.cache.EntityCacheInvalidationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscribes this node to second-level cache invalidations; the regions
+ * themselves are configured in {@code ehcache.xml}.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer entityCacheListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            EntityCacheInvalidationService invalidationService,
+            EntityCacheProperties entityCacheProperties
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                invalidationService,
+                new ChannelTopic(entityCacheProperties.getInvalidationChannel())
+        );
+        return container;
+    }
+}
@@ -0,0 +1,26 @@
+package com.one.kc.common.config;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "entity-cache")
+@Data
+@Validated
+public class EntityCacheProperties {
+
+    /** Redis channel shared by all nodes for second-level cache evictions. */
+    @NotBlank
+    private String invalidationChannel = "entity-cache:invalidate";
+
+    /**
+     * Receivers evict again after this delay, dropping entries another
+     * node re-read from a lagging replica or an older snapshot.
+     */
+    private Duration redelay = Duration.ofSeconds(5);
+}
@@ -0,0 +1,55 @@
+package com.one.kc.common.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override that keeps read-only transactions on the primary.
+ *
+ * <p>
+ * - Set for a whole request by {@link ReadYourWritesInterceptor} while the
+ *   caller is inside their read-your-writes window
+ * - Set around a block by {@link #onPrimary(Supplier)}, e.g. when a read
+ *   fills a cache that must not capture replica lag
+ * </p>
+ *
+ * <p>
+ * The override only affects connections acquired while it is set; a
+ * transaction that already holds a replica connection keeps it.
+ * Without replicas configured it has no effect.
+ * </p>
+ */
+public final class DataSourceRoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private DataSourceRoutingContext() {}
+
+    public static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(PRIMARY.get());
+    }
+
+    /**
+     * Runs the action with reads routed to the primary.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY.remove();
+            } else {
+                PRIMARY.set(previous);
+            }
+        }
+    }
+
+    static void forcePrimary() {
+        PRIMARY.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        PRIMARY.remove();
+    }
+}
@@ -0,0 +1,109 @@
+package com.one.kc.common.datasource;
+
+import com.one.kc.common.utils.LoggerUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Keeps a user's reads on the primary for a short window after they
+ * wrote, so they see their own changes despite replica lag.
+ *
+ * <p>
+ * - A successful write request (not GET, HEAD or OPTIONS) marks the
+ *   caller in Redis for the window
+ * - Reads of a marked caller force the primary for the request
+ * - If Redis is unavailable the request uses the primary
+ * </p>
+ *
+ * <p>
+ * The window is shared by all instances; other users may still read
+ * slightly stale data from a replica.
+ * </p>
+ */
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(ReadYourWritesInterceptor.class);
+
+    private static final String WRITE_PREFIX = "ryw:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final AuditorAware<Long> auditorAware;
+    private final Duration window;
+
+    public ReadYourWritesInterceptor(
+            StringRedisTemplate redisTemplate,
+            AuditorAware<Long> auditorAware,
+            Duration window
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.auditorAware = auditorAware;
+        this.window = window;
+    }
+
+    @Override
+    public boolean preHandle(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler
+    ) {
+        if (!isSafe(request)) {
+            return true;
+        }
+
+        Optional<Long> userId = auditorAware.getCurrentAuditor();
+
+        if (userId.isPresent() && wroteRecently(userId.get())) {
+            DataSourceRoutingContext.forcePrimary();
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler,
+            Exception ex
+    ) {
+        DataSourceRoutingContext.clear();
+
+        if (isSafe(request) || ex != null || response.getStatus() >= 400) {
+            return;
+        }
+
+        auditorAware.getCurrentAuditor().ifPresent(userId -> {
+            try {
+                redisTemplate.opsForValue().set(WRITE_PREFIX + userId, "1", window);
+            } catch (RuntimeException e) {
+                LoggerUtils.error(logger, "Read-your-writes marker could not be stored", e);
+            }
+        });
+    }
+
+    private boolean wroteRecently(Long userId) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(WRITE_PREFIX + userId));
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Read-your-writes lookup failed", e);
+            return true;
+        }
+    }
+
+    private boolean isSafe(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method)
+                || HttpMethod.HEAD.matches(method)
+                || HttpMethod.OPTIONS.matches(method);
+    }
+}
@@ -0,0 +1,71 @@
+package com.one.kc.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only transactions to the replica pools (round robin) and
+ * everything else to the primary.
+ *
+ * <p>
+ * - The decision is made when a connection is acquired, so this must sit
+ *   behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ *   the JPA transaction manager opens its connection before the
+ *   transaction is flagged read-only
+ * - Calls outside a service transaction still run in the read-only
+ *   transactions of Spring Data's repository methods and go to a replica
+ * - {@link DataSourceRoutingContext} pins the current thread to the primary
+ * - Needs {@code spring.jpa.open-in-view} off; a request-wide
+ *   EntityManager would reuse its first connection in every transaction
+ * </p>
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA_PREFIX = "replica-";
+
+    private final List<HikariDataSource> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas) {
+
+        this.replicas = List.copyOf(replicas);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(REPLICA_PREFIX + i, this.replicas.get(i));
+        }
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+
+        if (replicas.isEmpty()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || DataSourceRoutingContext.isPrimaryForced()) {
+            return PRIMARY;
+        }
+
+        return REPLICA_PREFIX + Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+
+    /**
+     * Replica pools are not beans of their own; the primary pool is.
+     */
+    @Override
+    public void destroy() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
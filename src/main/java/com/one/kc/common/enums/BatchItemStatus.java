@@ -0,0 +1,6 @@
+package com.one.kc.common.enums;
+
+public enum BatchItemStatus {
+    CREATED,
+    REJECTED
+}
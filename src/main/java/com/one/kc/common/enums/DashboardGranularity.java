@@ -0,0 +1,77 @@
+package com.one.kc.common.enums;
+
+import com.one.kc.common.exceptions.UserFacingException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Size of one point in a dashboard time series. Buckets are labelled by
+ * their first day; weeks start on Monday (ISO).
+ */
+public enum DashboardGranularity {
+    DAY,
+    WEEK,
+    MONTH,
+    YEAR;
+
+    public LocalDate bucketStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    public LocalDate nextBucketStart(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+            case YEAR -> bucketStart.plusYears(1);
+        };
+    }
+
+    /**
+     * Start of the bucket {@code index} buckets after {@code firstBucketStart}.
+     */
+    public LocalDate bucketStart(LocalDate firstBucketStart, int index) {
+        return firstBucketStart.plus(index, unit());
+    }
+
+    /**
+     * Position of the bucket containing {@code date}, counted from the
+     * bucket starting at {@code firstBucketStart}.
+     */
+    public int bucketIndex(LocalDate firstBucketStart, LocalDate date) {
+        return (int) unit().between(firstBucketStart, bucketStart(date));
+    }
+
+    /**
+     * Number of buckets touched by the range [from, to].
+     */
+    public int bucketCount(LocalDate from, LocalDate to) {
+        return bucketIndex(bucketStart(from), to) + 1;
+    }
+
+    private ChronoUnit unit() {
+        return switch (this) {
+            case DAY -> ChronoUnit.DAYS;
+            case WEEK -> ChronoUnit.WEEKS;
+            case MONTH -> ChronoUnit.MONTHS;
+            case YEAR -> ChronoUnit.YEARS;
+        };
+    }
+
+    public static DashboardGranularity from(String value) {
+        for (DashboardGranularity granularity : values()) {
+            if (granularity.name().equalsIgnoreCase(value)) {
+                return granularity;
+            }
+        }
+        throw new UserFacingException("Unsupported granularity: " + value);
+    }
+}
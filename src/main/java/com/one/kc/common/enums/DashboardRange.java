@@ -0,0 +1,47 @@
+package com.one.kc.common.enums;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Dashboard ranges common enough to be cached.
+ */
+@Getter
+public enum DashboardRange {
+    ALL_TIME(0),
+    LAST_7_DAYS(7),
+    LAST_30_DAYS(30),
+    LAST_365_DAYS(365);
+
+    private final int days;
+
+    DashboardRange(int days) {
+        this.days = days;
+    }
+
+    /**
+     * Matches a requested range against the cacheable ones, or null.
+     */
+    public static DashboardRange resolve(LocalDate fromDate, LocalDate toDate, LocalDate today) {
+        if (fromDate == null && toDate == null) {
+            return ALL_TIME;
+        }
+        if (fromDate == null || (toDate != null && !toDate.equals(today))) {
+            return null;
+        }
+        for (DashboardRange range : values()) {
+            if (range.days > 0 && fromDate.equals(today.minusDays(range.days - 1L))) {
+                return range;
+            }
+        }
+        return null;
+    }
+
+    public boolean contains(LocalDate date, LocalDate today) {
+        if (date.isAfter(today)) {
+            return false;
+        }
+        return days == 0 || !date.isBefore(today.minusDays(days - 1L));
+    }
+}
@@ -0,0 +1,6 @@
+package com.one.kc.common.enums;
+
+public enum OutboxEventType {
+    CHANTING_ROUNDS_CHANGED,
+    USER_ROLE_CHANGED
+}
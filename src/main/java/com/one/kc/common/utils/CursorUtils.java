@@ -0,0 +1,55 @@
+package com.one.kc.common.utils;
+
+import com.one.kc.common.exceptions.UserFacingException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe cursor strings.
+ */
+public final class CursorUtils {
+
+    private static final String SEPARATOR = ":";
+
+    public record Position(Instant instant, Long id) {}
+
+    private CursorUtils() {}
+
+    public static String encode(Instant instant, Long id) {
+        String raw = instant.getEpochSecond()
+                + SEPARATOR + instant.getNano()
+                + SEPARATOR + id;
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Position decode(String cursor) {
+        try {
+            String raw = new String(
+                    Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8
+            );
+
+            String[] parts = raw.split(SEPARATOR);
+
+            if (parts.length != 3) {
+                throw new UserFacingException("Invalid cursor");
+            }
+
+            Instant instant = Instant.ofEpochSecond(
+                    Long.parseLong(parts[0]),
+                    Long.parseLong(parts[1])
+            );
+
+            return new Position(instant, Long.parseLong(parts[2]));
+
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new UserFacingException("Invalid cursor");
+        }
+    }
+}
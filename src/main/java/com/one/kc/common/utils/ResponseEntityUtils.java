@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.Arrays;
 import java.util.List;
 
 public class ResponseEntityUtils {
@@ -19,6 +20,20 @@ public class ResponseEntityUtils {
     }
 
 
+    /**
+     * True when an If-None-Match header matches the ETag (weak comparison,
+     * as RFC 9110 requires for If-None-Match).
+     */
+    public static boolean isNotModified(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+    }
+
     public static <T> ResponseEntity<PageResponse<T>> getPaginatedResponse(Page<?> page, List<T> content) {
 
         PageResponse<T> response = new PageResponse<>();
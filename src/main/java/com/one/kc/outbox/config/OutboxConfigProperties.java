@@ -0,0 +1,29 @@
+package com.one.kc.outbox.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "outbox")
+@Data
+@Validated
+public class OutboxConfigProperties {
+
+    @Min(1)
+    private int batchSize = 200;
+
+    /** Events failing this many times are dead and kept until the purge. */
+    @Min(1)
+    private int maxAttempts = 10;
+
+    /** Fallback poll; commits also wake the relay directly. */
+    private Duration pollInterval = Duration.ofSeconds(5);
+
+    /** How long processed and dead events are kept before being purged. */
+    private Duration retention = Duration.ofDays(7);
+}
@@ -0,0 +1,21 @@
+package com.one.kc.outbox.handler;
+
+import com.one.kc.common.enums.OutboxEventType;
+import com.one.kc.outbox.entity.OutboxEvent;
+
+/**
+ * In-process consumer of outbox events. Every bean implementing this
+ * interface receives the committed events of its type from the relay.
+ *
+ * <p>
+ * Delivery is at least once and, across instances, not strictly
+ * ordered: handlers should be idempotent or commutative. An exception
+ * makes the relay retry the event for all handlers of its type.
+ * </p>
+ */
+public interface OutboxEventHandler {
+
+    OutboxEventType getEventType();
+
+    void handle(OutboxEvent event);
+}
@@ -0,0 +1,54 @@
+package com.one.kc.outbox.repository;
+
+import com.one.kc.outbox.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest pending events, locked for the caller's transaction. Rows
+     * locked by another instance's relay are skipped rather than waited on.
+     */
+    @Query(value = """
+        SELECT *
+        FROM outbox_event
+        WHERE processed_at IS NULL
+          AND attempts < :maxAttempts
+        ORDER BY event_id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<OutboxEvent> lockPending(
+            @Param("maxAttempts") int maxAttempts,
+            @Param("limit") int limit
+    );
+
+    @Modifying
+    @Query("""
+        delete from OutboxEvent e
+        where e.processedAt < :before
+    """)
+    int deleteProcessedBefore(@Param("before") Instant before);
+
+    /**
+     * Events that reached {@code maxAttempts} without being processed and
+     * were created before the cutoff.
+     */
+    @Modifying
+    @Query("""
+        delete from OutboxEvent e
+        where e.processedAt is null
+          and e.attempts >= :maxAttempts
+          and e.createdAt < :before
+    """)
+    int deleteDeadBefore(
+            @Param("maxAttempts") int maxAttempts,
+            @Param("before") Instant before
+    );
+}
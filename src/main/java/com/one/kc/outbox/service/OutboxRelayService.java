@@ -0,0 +1,212 @@
+package com.one.kc.outbox.service;
+
+import com.one.kc.common.enums.OutboxEventType;
+import com.one.kc.common.utils.LoggerUtils;
+import com.one.kc.outbox.config.OutboxConfigProperties;
+import com.one.kc.outbox.entity.OutboxEvent;
+import com.one.kc.outbox.handler.OutboxEventHandler;
+import com.one.kc.outbox.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox table and dispatches events to the
+ * {@link OutboxEventHandler} beans of their type.
+ *
+ * <p>
+ * - Runs on a single background thread, woken after every commit that
+ *   published events and on a fallback poll
+ * - Each batch is locked with {@code FOR UPDATE SKIP LOCKED} and marked
+ *   processed in one transaction, so several instances can relay side
+ *   by side without dispatching the same event twice
+ * - A failing event is retried on later polls until
+ *   {@code outbox.max-attempts}; it is then dead: logged, counted as
+ *   {@code kc.outbox.events{result=dead}} and kept for inspection until
+ *   the purge
+ * - Handlers must tolerate redelivery: an event is retried as a whole,
+ *   and a relay transaction that fails to commit replays its batch
+ * </p>
+ */
+@Service
+public class OutboxRelayService {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(OutboxRelayService.class);
+
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxConfigProperties config;
+    private final Map<OutboxEventType, List<OutboxEventHandler>> handlers;
+    private final Counter processedCounter;
+    private final Counter failedCounter;
+    private final Counter deadCounter;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("outbox-relay").factory()
+    );
+
+    /** Coalesces wake-ups while a drain is already queued. */
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+    public OutboxRelayService(
+            OutboxEventRepository outboxEventRepository,
+            PlatformTransactionManager transactionManager,
+            OutboxConfigProperties outboxConfigProperties,
+            List<OutboxEventHandler> handlers,
+            MeterRegistry meterRegistry
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = outboxConfigProperties;
+        this.handlers = handlers.stream()
+                .collect(Collectors.groupingBy(
+                        OutboxEventHandler::getEventType,
+                        () -> new EnumMap<>(OutboxEventType.class),
+                        Collectors.toList()
+                ));
+        this.processedCounter = Counter.builder("kc.outbox.events")
+                .tag("result", "processed")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("kc.outbox.events")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        this.deadCounter = Counter.builder("kc.outbox.events")
+                .tag("result", "dead")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Schedules a drain on the relay thread unless one is already queued.
+     */
+    public void trigger() {
+        if (!drainQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; pending events are picked up on the next start
+            drainQueued.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval:5s}")
+    public void poll() {
+        trigger();
+    }
+
+    /**
+     * Deletes processed and dead events older than {@code outbox.retention}.
+     */
+    @Transactional
+    @Scheduled(cron = "${outbox.purge-cron:0 45 3 * * *}", zone = "UTC")
+    public void purge() {
+
+        Instant before = Instant.now().minus(config.getRetention());
+
+        int deleted = outboxEventRepository.deleteProcessedBefore(before);
+
+        if (deleted > 0) {
+            LoggerUtils.info(logger, "Purged {} processed outbox events", deleted);
+        }
+
+        int dead = outboxEventRepository.deleteDeadBefore(config.getMaxAttempts(), before);
+
+        if (dead > 0) {
+            LoggerUtils.info(logger, "Purged {} dead outbox events", dead);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+
+        drainQueued.set(false);
+
+        try {
+            BatchResult result;
+            do {
+                result = transactionTemplate.execute(status -> relayBatch());
+            } while (result != null
+                    && result.size() == config.getBatchSize()
+                    && result.failed() == 0);
+
+        } catch (RuntimeException e) {
+            LoggerUtils.error(logger, "Outbox relay failed", e);
+        }
+    }
+
+    private BatchResult relayBatch() {
+
+        List<OutboxEvent> events = outboxEventRepository.lockPending(
+                config.getMaxAttempts(),
+                config.getBatchSize()
+        );
+
+        Instant now = Instant.now();
+        int failed = 0;
+
+        for (OutboxEvent event : events) {
+            try {
+                for (OutboxEventHandler handler : handlers.getOrDefault(event.getEventType(), List.of())) {
+                    handler.handle(event);
+                }
+
+                event.setProcessedAt(now);
+                event.setLastError(null);
+                processedCounter.increment();
+
+            } catch (RuntimeException e) {
+                failed++;
+                failedCounter.increment();
+
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLastError(StringUtils.abbreviate(e.toString(), MAX_ERROR_LENGTH));
+
+                if (event.getAttempts() >= config.getMaxAttempts()) {
+                    deadCounter.increment();
+                    LoggerUtils.error(logger, "Outbox event {} of type {} is dead after {} attempts", e,
+                            event.getEventId(), event.getEventType(), event.getAttempts());
+                } else {
+                    LoggerUtils.error(logger, "Outbox event {} of type {} failed", e,
+                            event.getEventId(), event.getEventType());
+                }
+            }
+        }
+
+        return new BatchResult(events.size(), failed);
+    }
+
+    private record BatchResult(int size, int failed) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.one.kc.outbox.service;
+
+import com.one.kc.common.enums.OutboxEventType;
+import com.one.kc.common.utils.SnowflakeIdGenerator;
+import com.one.kc.common.utils.TransactionUtils;
+import com.one.kc.outbox.entity.OutboxEvent;
+import com.one.kc.outbox.repository.OutboxEventRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+
+/**
+ * Records side effects of a write in the outbox table, atomically with
+ * the write itself.
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final SnowflakeIdGenerator idGenerator;
+    private final JsonMapper jsonMapper;
+    private final OutboxRelayService outboxRelayService;
+
+    public OutboxService(
+            OutboxEventRepository outboxEventRepository,
+            SnowflakeIdGenerator idGenerator,
+            JsonMapper jsonMapper,
+            OutboxRelayService outboxRelayService
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.idGenerator = idGenerator;
+        this.jsonMapper = jsonMapper;
+        this.outboxRelayService = outboxRelayService;
+    }
+
+    /**
+     * Stores an event in the caller's transaction; the relay is woken once
+     * it commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType eventType, Long aggregateId, Object payload) {
+
+        OutboxEvent event = new OutboxEvent();
+        event.setEventId(idGenerator.nextId());
+        event.setEventType(eventType);
+        event.setAggregateId(aggregateId);
+        event.setPayload(jsonMapper.writeValueAsString(payload));
+        event.setCreatedAt(Instant.now());
+
+        outboxEventRepository.save(event);
+
+        TransactionUtils.afterCommit(outboxRelayService::trigger);
+    }
+}
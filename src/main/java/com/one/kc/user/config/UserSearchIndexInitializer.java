@@ -0,0 +1,78 @@
+package com.one.kc.user.config;
+
+import com.one.kc.common.utils.LoggerUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+
+/**
+ * Creates the n-gram FULLTEXT index behind the admin user search, which
+ * JPA cannot declare.
+ *
+ * <p>
+ * - Bigrams ({@code ngram_token_size}, MySQL default 2) over first name,
+ *   last name and email, so any substring of two or more characters is
+ *   an index lookup
+ * - Built with stopwords disabled: the n-gram parser drops every token
+ *   containing a stopword, e.g. all bigrams with an "a"
+ * </p>
+ */
+@Component
+public class UserSearchIndexInitializer implements ApplicationRunner {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(UserSearchIndexInitializer.class);
+
+    public static final String INDEX_NAME = "ft_users_search";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserSearchIndexInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+
+        if (indexExists()) {
+            return;
+        }
+
+        try {
+            // Same connection: the stopword switch is a session variable
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET SESSION innodb_ft_enable_stopword = OFF");
+                    statement.execute(
+                            "CREATE FULLTEXT INDEX " + INDEX_NAME
+                                    + " ON users (first_name, last_name, email) WITH PARSER ngram"
+                    );
+                    statement.execute("SET SESSION innodb_ft_enable_stopword = ON");
+                }
+                return null;
+            });
+            LoggerUtils.info(logger, "Created user search index {}", INDEX_NAME);
+        } catch (DataAccessException e) {
+            // Another instance may be creating it; checked again on next start
+            LoggerUtils.error(logger, "User search index could not be created", e);
+        }
+    }
+
+    private boolean indexExists() {
+        Integer count = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*)
+                FROM information_schema.STATISTICS
+                WHERE TABLE_SCHEMA = DATABASE()
+                  AND TABLE_NAME = 'users'
+                  AND INDEX_NAME = ?
+                """, Integer.class, INDEX_NAME);
+        return count != null && count > 0;
+    }
+}
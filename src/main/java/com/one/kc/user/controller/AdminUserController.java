@@ -1,7 +1,9 @@
 package com.one.kc.user.controller;
 
 import com.one.kc.auth.utils.JwtUtil;
+import com.one.kc.chanting.dto.GroupDistributionDto;
 import com.one.kc.chanting.dto.PageResponse;
+import com.one.kc.chanting.dto.UserPercentileDto;
 import com.one.kc.user.dto.AdminUserListDto;
 import com.one.kc.user.dto.AssignFacilitatorRoleRequest;
 import com.one.kc.user.dto.UserRoleAuditDto;
@@ -15,6 +17,9 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/admin/users")
 @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
@@ -27,7 +32,8 @@ public class AdminUserController {
     }
 
     /**
-     * Get all users with pagination and optional search by firstName
+     * Get all users with pagination and optional substring search over
+     * first name, last name and email
      * Example:
      * GET /api/admin/users?page=0&size=20&search=ram
      */
@@ -59,6 +65,36 @@ public class AdminUserController {
         return adminUserService.getAuditHistory(pageable);
     }
 
+    /**
+     * Daily rounds distribution of the admin's root group
+     * Example:
+     * GET /api/admin/users/distribution?date=2025-01-01&percentiles=50,90
+     */
+    @GetMapping("/distribution")
+    public ResponseEntity<GroupDistributionDto> getGroupDistribution(
+            @RequestParam(required = false) LocalDate date,
+            @RequestParam(defaultValue = "50,90") List<Integer> percentiles,
+            @AuthenticationPrincipal Jwt jwt
+    ) {
+        Long adminId = JwtUtil.getUserId(jwt);
+        return ResponseEntity.ok(adminUserService.getGroupDistribution(adminId, date, percentiles));
+    }
+
+    /**
+     * Percentile rank of a user's daily rounds within their root group
+     * Example:
+     * GET /api/admin/users/123/percentile?date=2025-01-01
+     */
+    @GetMapping("/{userId}/percentile")
+    public ResponseEntity<UserPercentileDto> getUserPercentile(
+            @PathVariable Long userId,
+            @RequestParam(required = false) LocalDate date,
+            @AuthenticationPrincipal Jwt jwt
+    ) {
+        Long adminId = JwtUtil.getUserId(jwt);
+        return ResponseEntity.ok(adminUserService.getUserPercentile(adminId, userId, date));
+    }
+
     /**
      * Assign FACILITATOR role to one or more users
      */
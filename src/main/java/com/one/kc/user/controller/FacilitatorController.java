@@ -4,8 +4,13 @@ package com.one.kc.user.controller;
 import com.one.kc.auth.utils.JwtUtil;
 import com.one.kc.chanting.dto.ChantingDashboardResponseDto;
 import com.one.kc.chanting.dto.ChantingDto;
+import com.one.kc.chanting.dto.FacilitatorCohortDashboardDto;
 import com.one.kc.chanting.dto.PageResponse;
+import com.one.kc.common.enums.DashboardGranularity;
+import com.one.kc.common.enums.ExportFormat;
+import com.one.kc.user.dto.FacilitatorDashboardsRequest;
 import com.one.kc.user.dto.FacilitatorListDto;
+import com.one.kc.user.dto.FacilitatorUserDashboardDto;
 import com.one.kc.user.dto.FacilitatorUserListDto;
 import com.one.kc.user.service.FacilitatorService;
 import org.springframework.data.domain.Pageable;
@@ -17,9 +22,12 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -64,13 +72,52 @@ public class FacilitatorController {
         return facilitatorService.getFacilitatorUserChantingListByUserId(facilitatorId, userId, pageable);
     }
 
+    /**
+     * Aggregate dashboard across all users assigned to the facilitator.
+     * Example:
+     * GET /api/facilitator/dashboard?fromDate=2025-01-01&toDate=2025-01-31
+     */
+    @GetMapping("/dashboard")
+    public ResponseEntity<FacilitatorCohortDashboardDto> getFacilitatorCohortDashboard(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) LocalDate fromDate,
+            @RequestParam(required = false) LocalDate toDate) {
+        Long facilitatorId = JwtUtil.getUserId(jwt);
+        return ResponseEntity.ok(facilitatorService.getFacilitatorCohortDashboard(facilitatorId, fromDate, toDate));
+    }
+
     @GetMapping("/user/{userId}/dashboard")
     public ResponseEntity<ChantingDashboardResponseDto>  getFacilitatorsUserDashboardDetails(
             @PathVariable Long userId,
             @AuthenticationPrincipal Jwt jwt,
             @RequestParam(required = false) LocalDate fromDate,
-            @RequestParam(required = false) LocalDate toDate) {
+            @RequestParam(required = false) LocalDate toDate,
+            @RequestParam(defaultValue = "day") String granularity) {
+        Long facilitatorId = JwtUtil.getUserId(jwt);
+          return ResponseEntity.ok(facilitatorService.getFacilitatorsUserDashboardDetails(
+                  facilitatorId, userId, fromDate, toDate, DashboardGranularity.from(granularity)));
+    }
+
+    /**
+     * Daily dashboards of several assigned users in one request.
+     * Example:
+     * POST /api/facilitator/dashboards
+     * {"userIds": ["1", "2"], "fromDate": "2025-01-01", "toDate": "2025-01-31"}
+     */
+    @PostMapping("/dashboards")
+    public ResponseEntity<List<FacilitatorUserDashboardDto>> getFacilitatorsUsersDashboards(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestBody FacilitatorDashboardsRequest request) {
+        Long facilitatorId = JwtUtil.getUserId(jwt);
+        return ResponseEntity.ok(facilitatorService.getFacilitatorUsersDashboards(facilitatorId, request));
+    }
+
+    @GetMapping("/user/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportFacilitatorsUserChanting(
+            @PathVariable Long userId,
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(defaultValue = "csv") String format) {
         Long facilitatorId = JwtUtil.getUserId(jwt);
-          return ResponseEntity.ok(facilitatorService.getFacilitatorsUserDashboardDetails(facilitatorId, userId, fromDate, toDate));
+        return facilitatorService.exportFacilitatorUserChanting(facilitatorId, userId, ExportFormat.from(format));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.one.kc.user.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class FacilitatorDashboardsRequest {
+    private List<String> userIds;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+}
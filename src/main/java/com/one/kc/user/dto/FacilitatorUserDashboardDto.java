@@ -0,0 +1,17 @@
+package com.one.kc.user.dto;
+
+import com.one.kc.chanting.dto.ChantingDashboardResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FacilitatorUserDashboardDto {
+    private String userId;
+    private String name;
+    private ChantingDashboardResponseDto dashboard;
+}
@@ -28,6 +28,7 @@ public class UserDto {
     private String chgBy;
     private UserStatus status;
     private Integer committedRounds;
+    private String timeZone;
     private String facilitatorId;
     private String facilitatorName;
     private List<String> roles;
@@ -0,0 +1,15 @@
+package com.one.kc.user.dto;
+
+import com.one.kc.common.enums.RoleAuditAction;
+import com.one.kc.common.enums.UserRole;
+
+/**
+ * Outbox payload: a role was assigned to or removed from a user.
+ */
+public record UserRoleChangedEvent(
+        Long userId,
+        UserRole role,
+        RoleAuditAction action,
+        Long actorUserId
+) {
+}
@@ -10,6 +10,8 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Objects;
@@ -36,6 +38,8 @@ import java.util.Set;
                 @Index(name = "idx_users_root_group", columnList = "root_group_id")
         }
 )
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 @Data
 @EqualsAndHashCode(callSuper = true, onlyExplicitlyIncluded = true)
 @ToString(exclude = {
@@ -71,6 +75,13 @@ public class User extends AuditEntity {
 
     private Integer committedRounds;
 
+    /**
+     * IANA zone id (e.g. Asia/Kolkata) used to bucket chanting into days.
+     * Falls back to the server zone when not set.
+     */
+    @Column(length = 64)
+    private String timeZone;
+
     /**
      * 🔥 Root group = tenant boundary (MALE_ROOT / FEMALE_ROOT / OTHER_ROOT)
      * This replaces heavy EXISTS-based filtering.
@@ -92,6 +103,7 @@ public class User extends AuditEntity {
     /**
      * Roles
      */
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user.roles")
     @OneToMany(
             mappedBy = "user",
             cascade = CascadeType.ALL,
@@ -0,0 +1,50 @@
+package com.one.kc.user.handler;
+
+import com.one.kc.common.cache.EntityCacheInvalidationService;
+import com.one.kc.common.enums.OutboxEventType;
+import com.one.kc.outbox.entity.OutboxEvent;
+import com.one.kc.outbox.handler.OutboxEventHandler;
+import com.one.kc.user.dto.UserRoleChangedEvent;
+import com.one.kc.user.entity.User;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Evicts the changed user's cached roles on every node.
+ *
+ * <p>
+ * The commit already broadcasts the change once over pub/sub; this
+ * repeats it from the outbox, so a lost message cannot leave a node
+ * issuing tokens with the old roles until the region expires.
+ * </p>
+ */
+@Component
+public class UserRoleCacheEventHandler implements OutboxEventHandler {
+
+    private static final String ROLES = User.class.getName() + ".roles";
+
+    private final EntityCacheInvalidationService entityCacheInvalidationService;
+    private final JsonMapper jsonMapper;
+
+    public UserRoleCacheEventHandler(
+            EntityCacheInvalidationService entityCacheInvalidationService,
+            JsonMapper jsonMapper
+    ) {
+        this.entityCacheInvalidationService = entityCacheInvalidationService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public OutboxEventType getEventType() {
+        return OutboxEventType.USER_ROLE_CHANGED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+
+        UserRoleChangedEvent change =
+                jsonMapper.readValue(event.getPayload(), UserRoleChangedEvent.class);
+
+        entityCacheInvalidationService.evictCollection(ROLES, change.userId());
+    }
+}
@@ -3,13 +3,18 @@ package com.one.kc.user.repository;
 import com.one.kc.common.enums.UserRole;
 import com.one.kc.common.enums.UserStatus;
 import com.one.kc.user.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,53 +22,100 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUserId(Long userId);
 
+    /**
+     * Users with their roles, for issuing tokens after the lookup's
+     * transaction has ended.
+     */
+    @EntityGraph(attributePaths = {"roles"})
+    Optional<User> findWithRolesByEmail(String email);
+
+    @EntityGraph(attributePaths = {"roles"})
+    Optional<User> findWithRolesByUserId(Long userId);
+
     Optional<User> findByEmailAndStatus(String email, UserStatus userStatus);
 
     // =========================================================
     // 🔥 ADMIN - Fetch users in same root group
     // =========================================================
 
-    @EntityGraph(attributePaths = {"roles"})
-    @Query("""
-        SELECT u
+    /**
+     * Page of user ids only; roles are fetched for the page with
+     * {@link #findAllWithRolesByUserIdIn}. Fetching a collection in a
+     * paged query would make Hibernate paginate in memory.
+     */
+    @Query(
+            value = """
+        SELECT u.userId
         FROM User u
         WHERE u.rootGroup.groupId = (
             SELECT admin.rootGroup.groupId
             FROM User admin
             WHERE admin.userId = :adminId
         )
-        ORDER BY u.firstName
-    """)
-    Page<User> findUsersInSameRootGroup(
-            @Param("adminId") Long adminId,
-            Pageable pageable
-    );
-
-    @EntityGraph(attributePaths = {"roles"})
-    @Query("""
-        SELECT u
+        ORDER BY u.firstName, u.userId
+    """,
+            countQuery = """
+        SELECT COUNT(u)
         FROM User u
         WHERE u.rootGroup.groupId = (
             SELECT admin.rootGroup.groupId
             FROM User admin
             WHERE admin.userId = :adminId
         )
-        AND u.firstName LIKE CONCAT('%', :query, '%')
+    """
+    )
+    Page<Long> findUserIdsInSameRootGroup(
+            @Param("adminId") Long adminId,
+            Pageable pageable
+    );
+
+    /**
+     * Page of user ids in the admin's root group matching a full-text
+     * {@code term} over first name, last name and email (n-gram index
+     * {@code ft_users_search}). Ordered by first name: exact match, then
+     * prefix, then any other match.
+     */
+    @Query(
+            value = """
+        SELECT u.user_id
+        FROM users u
+        WHERE u.root_group_id = (
+            SELECT admin.root_group_id
+            FROM users admin
+            WHERE admin.user_id = :adminId
+        )
+        AND MATCH(u.first_name, u.last_name, u.email) AGAINST (:term IN BOOLEAN MODE)
         ORDER BY
             CASE
-                WHEN u.firstName = :query THEN 1
-                WHEN u.firstName LIKE CONCAT(:query, '%') THEN 2
+                WHEN u.first_name = :query THEN 1
+                WHEN u.first_name LIKE CONCAT(:query, '%') THEN 2
                 ELSE 3
             END,
-            u.firstName
-    """)
-    Page<User> findUsersInSameRootGroupWithSearch(
+            u.first_name,
+            u.user_id
+        """,
+            countQuery = """
+        SELECT COUNT(*)
+        FROM users u
+        WHERE u.root_group_id = (
+            SELECT admin.root_group_id
+            FROM users admin
+            WHERE admin.user_id = :adminId
+        )
+        AND MATCH(u.first_name, u.last_name, u.email) AGAINST (:term IN BOOLEAN MODE)
+        """,
+            nativeQuery = true
+    )
+    Page<Long> searchUserIdsInSameRootGroup(
             @Param("adminId") Long adminId,
             @Param("query") String query,
+            @Param("term") String term,
             Pageable pageable
     );
 
@@ -103,6 +155,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
             Pageable pageable
     );
 
+    long countByFacilitator_UserId(Long facilitatorId);
+
+    /**
+     * The subset of {@code userIds} assigned to the facilitator, checked
+     * in one query.
+     */
+    @Query("""
+        SELECT u
+        FROM User u
+        WHERE u.userId IN :userIds
+          AND u.facilitator.userId = :facilitatorId
+    """)
+    List<User> findAssignedUsers(
+            @Param("facilitatorId") Long facilitatorId,
+            @Param("userIds") Collection<Long> userIds
+    );
+
+    @Query("""
+        select u.timeZone
+        from User u
+        where u.userId = :userId
+    """)
+    Optional<String> findTimeZoneByUserId(@Param("userId") Long userId);
+
+    @Query("""
+        select u.updatedAt
+        from User u
+        where u.userId = :userId
+    """)
+    Optional<Instant> findUpdatedAtByUserId(@Param("userId") Long userId);
+
     @EntityGraph(attributePaths = {
             "roles",
             "facilitator",
@@ -147,29 +230,61 @@ public interface UserRepository extends JpaRepository<User, Long> {
             @Param("rootGroupId") Long rootGroupId
     );
 
-    @EntityGraph(attributePaths = {"roles"})
-        @Query("""
-        SELECT u
+    /**
+     * Like {@link #findUserIdsInSameRootGroup} across all root groups.
+     */
+    @Query(
+            value = """
+        SELECT u.userId
         FROM User u
-        ORDER BY u.firstName
-    """)
-    Page<User> findAllWithRoles(Pageable pageable);
-
-    @EntityGraph(attributePaths = {"roles"})
-        @Query("""
-        SELECT u
+        ORDER BY u.firstName, u.userId
+    """,
+            countQuery = """
+        SELECT COUNT(u)
         FROM User u
-        WHERE u.firstName LIKE CONCAT('%', :query, '%')
+    """
+    )
+    Page<Long> findAllUserIds(Pageable pageable);
+
+    /**
+     * Like {@link #searchUserIdsInSameRootGroup} across all root groups.
+     */
+    @Query(
+            value = """
+        SELECT u.user_id
+        FROM users u
+        WHERE MATCH(u.first_name, u.last_name, u.email) AGAINST (:term IN BOOLEAN MODE)
         ORDER BY
             CASE
-                WHEN u.firstName = :query THEN 1
-                WHEN u.firstName LIKE CONCAT(:query, '%') THEN 2
+                WHEN u.first_name = :query THEN 1
+                WHEN u.first_name LIKE CONCAT(:query, '%') THEN 2
                 ELSE 3
             END,
-            u.firstName
-    """)
-    Page<User> findAllWithRolesAndSearch(
+            u.first_name,
+            u.user_id
+        """,
+            countQuery = """
+        SELECT COUNT(*)
+        FROM users u
+        WHERE MATCH(u.first_name, u.last_name, u.email) AGAINST (:term IN BOOLEAN MODE)
+        """,
+            nativeQuery = true
+    )
+    Page<Long> searchUserIds(
             @Param("query") String query,
+            @Param("term") String term,
             Pageable pageable
     );
+
+    /**
+     * Second step of the paged admin queries: users of one page with
+     * their roles, in one query.
+     */
+    @EntityGraph(attributePaths = {"roles"})
+    @Query("""
+        SELECT u
+        FROM User u
+        WHERE u.userId IN :userIds
+    """)
+    List<User> findAllWithRolesByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
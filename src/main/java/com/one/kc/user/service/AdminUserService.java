@@ -1,13 +1,20 @@
 package com.one.kc.user.service;
 
+import com.one.kc.chanting.dto.GroupDistributionDto;
 import com.one.kc.chanting.dto.PageResponse;
+import com.one.kc.chanting.dto.UserPercentileDto;
+import com.one.kc.chanting.service.ChantingSummaryService;
+import com.one.kc.chanting.service.GroupDistributionService;
+import com.one.kc.common.enums.OutboxEventType;
 import com.one.kc.common.enums.RoleAuditAction;
 import com.one.kc.common.enums.UserRole;
 import com.one.kc.common.exceptions.ResourceNotFoundException;
 import com.one.kc.common.exceptions.UserFacingException;
 import com.one.kc.common.utils.ResponseEntityUtils;
+import com.one.kc.outbox.service.OutboxService;
 import com.one.kc.user.dto.AdminUserListDto;
 import com.one.kc.user.dto.UserRoleAuditDto;
+import com.one.kc.user.dto.UserRoleChangedEvent;
 import com.one.kc.user.entity.User;
 import com.one.kc.user.entity.UserRoleAudit;
 import com.one.kc.user.repository.UserRepository;
@@ -15,33 +22,53 @@ import com.one.kc.user.repository.UserRoleAuditRepository;
 import com.one.kc.user.repository.UserRoleRepository;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class AdminUserService {
 
+    /** MySQL {@code ngram_token_size} the search index is built with. */
+    private static final int SEARCH_NGRAM_SIZE = 2;
+
     private final UserRepository userRepository;
     private final UserRoleRepository userRoleRepository;
     private final UserRoleAuditRepository userRoleAuditRepository;
+    private final GroupDistributionService groupDistributionService;
+    private final ChantingSummaryService chantingSummaryService;
+    private final OutboxService outboxService;
 
 
     public AdminUserService(
             UserRepository userRepository,
             UserRoleRepository userRoleRepository,
-            UserRoleAuditRepository userRoleAuditRepository
+            UserRoleAuditRepository userRoleAuditRepository,
+            GroupDistributionService groupDistributionService,
+            ChantingSummaryService chantingSummaryService,
+            OutboxService outboxService
     ) {
         this.userRepository = userRepository;
         this.userRoleRepository = userRoleRepository;
         this.userRoleAuditRepository = userRoleAuditRepository;
+        this.groupDistributionService = groupDistributionService;
+        this.chantingSummaryService = chantingSummaryService;
+        this.outboxService = outboxService;
     }
 
     @Transactional(readOnly = true)
@@ -62,28 +89,21 @@ public class AdminUserService {
 
             // 🔥 SUPER_ADMIN → No tenant restriction
             if (StringUtils.isBlank(search)) {
-                userPage = userRepository.findAllWithRoles(pageable);
+                userPage = withRoles(userRepository.findAllUserIds(pageable));
             } else {
-                userPage = userRepository.findAllWithRolesAndSearch(
-                        search.trim(),
-                        pageable
-                );
+                userPage = searchUsers(null, search.trim(), pageable);
             }
 
         } else {
 
             // 🔒 ADMIN → Restrict to same rootGroup
             if (StringUtils.isBlank(search)) {
-                userPage = userRepository.findUsersInSameRootGroup(
+                userPage = withRoles(userRepository.findUserIdsInSameRootGroup(
                         adminId,
                         pageable
-                );
+                ));
             } else {
-                userPage = userRepository.findUsersInSameRootGroupWithSearch(
-                        adminId,
-                        search.trim(),
-                        pageable
-                );
+                userPage = searchUsers(adminId, search.trim(), pageable);
             }
         }
 
@@ -105,6 +125,134 @@ public class AdminUserService {
         return ResponseEntityUtils.getPaginatedResponse(userPage, adminUserListDtoList);
     }
 
+    /**
+     * Daily rounds distribution of the admin's root group, served from
+     * {@link GroupDistributionService}.
+     *
+     * @param date day to describe, defaults to the admin's today
+     */
+    @PreAuthorize("hasAnyRole('ADMIN','SUPER_ADMIN')")
+    public GroupDistributionDto getGroupDistribution(
+            Long adminId,
+            LocalDate date,
+            List<Integer> percentiles
+    ) {
+
+        User admin = userRepository.findByUserIdWithFacilitator(adminId)
+                .orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
+
+        if (admin.getRootGroup() == null) {
+            throw new UserFacingException("Admin has no root group");
+        }
+
+        return groupDistributionService.getDistribution(
+                admin.getRootGroup().getGroupId(),
+                date != null ? date : chantingSummaryService.today(admin),
+                percentiles
+        );
+    }
+
+    /**
+     * Where a user's daily rounds sit within their root group, answered
+     * from Redis once the day's distribution is built.
+     * ADMIN is limited to its own root group.
+     *
+     * @param date day to rank, defaults to the user's today
+     */
+    @PreAuthorize("hasAnyRole('ADMIN','SUPER_ADMIN')")
+    @Transactional(readOnly = true)
+    public UserPercentileDto getUserPercentile(
+            Long adminId,
+            Long userId,
+            LocalDate date
+    ) {
+
+        // Both users and the admin's roles come from the second-level cache
+        User admin = userRepository.findById(adminId)
+                .orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        if (user.getRootGroup() == null) {
+            throw new UserFacingException("User has no root group");
+        }
+
+        Long rootGroupId = user.getRootGroup().getGroupId();
+
+        if (!admin.hasRole(UserRole.SUPER_ADMIN)
+                && (admin.getRootGroup() == null || !admin.getRootGroup().getGroupId().equals(rootGroupId))) {
+            throw new UserFacingException("User is outside your root group", HttpStatus.FORBIDDEN);
+        }
+
+        LocalDate day = date != null ? date : chantingSummaryService.today(user);
+
+        return groupDistributionService.getPercentileRank(userId, rootGroupId, day);
+    }
+
+    /**
+     * Full-text search over first name, last name and email: a page of
+     * ids from the n-gram index, then {@link #withRoles}.
+     *
+     * @param adminId restricts to the admin's root group; null for all
+     */
+    private Page<User> searchUsers(Long adminId, String query, Pageable pageable) {
+
+        // The search queries define their own relevance ordering
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        String term = toFullTextTerm(query);
+
+        if (term == null) {
+            return Page.empty(page);
+        }
+
+        return withRoles(adminId == null
+                ? userRepository.searchUserIds(query, term, page)
+                : userRepository.searchUserIdsInSameRootGroup(adminId, query, term, page));
+    }
+
+    /**
+     * Second step of two-phase paging: loads the users of a page of ids
+     * with their roles in one query, keeping the page's order.
+     */
+    private Page<User> withRoles(Page<Long> userIds) {
+
+        if (userIds.isEmpty()) {
+            return new PageImpl<>(List.of(), userIds.getPageable(), userIds.getTotalElements());
+        }
+
+        Map<Long, User> users = userRepository.findAllWithRolesByUserIdIn(userIds.getContent())
+                .stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        List<User> content = userIds.getContent().stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new PageImpl<>(content, userIds.getPageable(), userIds.getTotalElements());
+    }
+
+    /**
+     * Boolean-mode term for the n-gram index: the query as a quoted
+     * phrase, i.e. its n-grams in sequence (substring match), or a prefix
+     * term when it is shorter than one n-gram. Null when nothing
+     * searchable remains.
+     */
+    private String toFullTextTerm(String query) {
+
+        String cleaned = query.replace("\"", "").trim();
+
+        if (cleaned.isEmpty()) {
+            return null;
+        }
+        if (cleaned.length() >= SEARCH_NGRAM_SIZE) {
+            return "\"" + cleaned + "\"";
+        }
+
+        return Character.isLetterOrDigit(cleaned.charAt(0)) ? cleaned + "*" : null;
+    }
+
     private boolean isAdmin(User user) {
         return user.getRoles().stream().anyMatch(role -> role.getRole().equals(UserRole.ADMIN));
     }
@@ -184,6 +332,7 @@ public class AdminUserService {
 
         userRepository.saveAll(userRoleAssignedList);
         userRoleAuditRepository.saveAll(userRoleAuditList);
+        publishRoleChanges(userRoleAuditList);
     }
 
     private List<Long> findUserIdsWithRole(
@@ -251,6 +400,7 @@ public class AdminUserService {
                 .toList();
 
         userRoleAuditRepository.saveAll(userRoleAuditList);
+        publishRoleChanges(userRoleAuditList);
     }
 
     @Transactional
@@ -297,6 +447,7 @@ public class AdminUserService {
         }
         userRepository.saveAll(userRoleAssignedList);
         userRoleAuditRepository.saveAll(userRoleAuditList);
+        publishRoleChanges(userRoleAuditList);
     }
 
     @Transactional
@@ -327,6 +478,23 @@ public class AdminUserService {
                 )
                 .toList();
         userRoleAuditRepository.saveAll(userRoleAuditList);
+        publishRoleChanges(userRoleAuditList);
+    }
+
+    /**
+     * One outbox event per audited role change, in the same transaction.
+     */
+    private void publishRoleChanges(List<UserRoleAudit> userRoleAuditList) {
+        userRoleAuditList.forEach(audit -> outboxService.publish(
+                OutboxEventType.USER_ROLE_CHANGED,
+                audit.getTargetUserId(),
+                new UserRoleChangedEvent(
+                        audit.getTargetUserId(),
+                        audit.getRole(),
+                        audit.getAction(),
+                        audit.getActorUserId()
+                )
+        ));
     }
 
     private void preventSelfModification(
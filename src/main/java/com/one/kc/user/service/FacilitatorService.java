@@ -2,46 +2,69 @@ package com.one.kc.user.service;
 
 import com.one.kc.chanting.dto.ChantingDashboardResponseDto;
 import com.one.kc.chanting.dto.ChantingDto;
+import com.one.kc.chanting.dto.FacilitatorCohortDashboardDto;
 import com.one.kc.chanting.dto.PageResponse;
+import com.one.kc.chanting.service.ChantingExportService;
 import com.one.kc.chanting.service.ChantingService;
+import com.one.kc.chanting.service.CohortDashboardService;
+import com.one.kc.common.enums.DashboardGranularity;
+import com.one.kc.common.enums.ExportFormat;
 import com.one.kc.common.enums.UserRole;
+import com.one.kc.common.exceptions.UserFacingException;
 import com.one.kc.common.utils.PhoneNumberUtils;
 import com.one.kc.common.utils.ResponseEntityUtils;
 import com.one.kc.group.dto.GroupListDto;
 import com.one.kc.group.service.GroupService;
+import com.one.kc.user.dto.FacilitatorDashboardsRequest;
 import com.one.kc.user.dto.FacilitatorListDto;
+import com.one.kc.user.dto.FacilitatorUserDashboardDto;
 import com.one.kc.user.dto.FacilitatorUserListDto;
 import com.one.kc.user.entity.User;
 import com.one.kc.user.repository.UserRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class FacilitatorService {
 
+    private static final int MAX_DASHBOARD_USERS = 100;
+
     private final UserRepository userRepository;
     private final ChantingService chantingService;
     private final GroupService groupService;
+    private final ChantingExportService chantingExportService;
+    private final CohortDashboardService cohortDashboardService;
 
     public FacilitatorService(UserRepository userRepository,
                               ChantingService chantingService,
-                              GroupService groupService
+                              GroupService groupService,
+                              ChantingExportService chantingExportService,
+                              CohortDashboardService cohortDashboardService
     ) {
         this.userRepository = userRepository;
         this.chantingService = chantingService;
         this.groupService = groupService;
+        this.chantingExportService = chantingExportService;
+        this.cohortDashboardService = cohortDashboardService;
     }
 
+    @Transactional(readOnly = true)
     public List<FacilitatorListDto> getFacilitators(Long userId) {
         List<User> users = userRepository.findActiveFacilitatorsInSameGroup(UserRole.FACILITATOR, userId);
 
@@ -55,6 +78,7 @@ public class FacilitatorService {
                 ).toList();
     }
 
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN', 'FACILITATOR')")
     public ResponseEntity<PageResponse<FacilitatorUserListDto>> getFacilitatorUsers(Long userId, Pageable pageable) {
         Page<User> userListPage =  userRepository.findUsersByFacilitator(userId, pageable);
@@ -73,6 +97,7 @@ public class FacilitatorService {
           return ResponseEntityUtils.getPaginatedResponse(userListPage, facilitatorUserListDtoList);
     }
 
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN', 'FACILITATOR')")
     public ResponseEntity<PageResponse<ChantingDto>> getFacilitatorUserChantingListByUserId(
             Long facilitatorId,
@@ -95,16 +120,99 @@ public class FacilitatorService {
             Long facilitatorId,
             Long userId,
             LocalDate fromDate,
-            LocalDate toDate
+            LocalDate toDate,
+            DashboardGranularity granularity
     ) {
         Optional<User> userOptional =  userRepository.findByUserId(userId);
         if(userOptional.isPresent()) {
             User user = userOptional.get();
             if(user.getFacilitator().getUserId().equals(facilitatorId)) {
-                return chantingService.getDashboard(userId, fromDate, toDate);
+                return chantingService.getDashboard(userId, fromDate, toDate, granularity);
             }
         }
        return null;
     }
-}
 
+    /**
+     * Daily dashboards of several assigned users in one call.
+     *
+     * <p>
+     * - Ownership of every requested user is checked with one set query;
+     *   the whole request is rejected if any user is not assigned
+     * - All dashboards come from one summary range query and one streak
+     *   lookup, partitioned by user in memory
+     * </p>
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN', 'FACILITATOR')")
+    public List<FacilitatorUserDashboardDto> getFacilitatorUsersDashboards(
+            Long facilitatorId,
+            FacilitatorDashboardsRequest request
+    ) {
+
+        if (request == null || CollectionUtils.isEmpty(request.getUserIds())) {
+            throw new UserFacingException("User ids are required");
+        }
+
+        if (request.getUserIds().size() > MAX_DASHBOARD_USERS) {
+            throw new UserFacingException("At most " + MAX_DASHBOARD_USERS + " users per request");
+        }
+
+        List<Long> userIds;
+        try {
+            userIds = request.getUserIds().stream()
+                    .map(Long::valueOf)
+                    .distinct()
+                    .toList();
+        } catch (NumberFormatException e) {
+            throw new UserFacingException("Invalid user id");
+        }
+
+        Map<Long, User> assignedUsers = userRepository.findAssignedUsers(facilitatorId, userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        if (assignedUsers.size() != userIds.size()) {
+            throw new UserFacingException("Some users are not assigned to you", HttpStatus.FORBIDDEN);
+        }
+
+        // Keep the caller's order
+        List<User> users = userIds.stream()
+                .map(assignedUsers::get)
+                .toList();
+
+        Map<Long, ChantingDashboardResponseDto> dashboards =
+                chantingService.getDashboards(users, request.getFromDate(), request.getToDate());
+
+        return users.stream()
+                .map(user -> FacilitatorUserDashboardDto.builder()
+                        .userId(String.valueOf(user.getUserId()))
+                        .name(user.getFirstName() + " " + user.getLastName())
+                        .dashboard(dashboards.get(user.getUserId()))
+                        .build())
+                .toList();
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN', 'FACILITATOR')")
+    public ResponseEntity<StreamingResponseBody> exportFacilitatorUserChanting(
+            Long facilitatorId,
+            Long userId,
+            ExportFormat format
+    ) {
+        Optional<User> userOptional =  userRepository.findByUserId(userId);
+        if(userOptional.isPresent()) {
+            User user = userOptional.get();
+            if(user.getFacilitator() != null && user.getFacilitator().getUserId().equals(facilitatorId)) {
+                return chantingExportService.export(userId, format);
+            }
+        }
+        return ResponseEntity.badRequest().build();
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN', 'FACILITATOR')")
+    public FacilitatorCohortDashboardDto getFacilitatorCohortDashboard(
+            Long facilitatorId,
+            LocalDate fromDate,
+            LocalDate toDate
+    ) {
+        return cohortDashboardService.getCohortDashboard(facilitatorId, fromDate, toDate);
+    }
+}
@@ -1,6 +1,11 @@
 package com.one.kc.user.service;
 
 import com.one.kc.auth.utils.JwtUtil;
+import com.one.kc.chanting.service.ChantingHeatmapService;
+import com.one.kc.chanting.service.ChantingStreakService;
+import com.one.kc.chanting.service.ChantingSummaryService;
+import com.one.kc.chanting.service.DashboardCacheService;
+import com.one.kc.chanting.service.FacilitatorLeaderboardService;
 import com.one.kc.common.constants.GroupConstants;
 import com.one.kc.common.enums.Gender;
 import com.one.kc.common.enums.UserRole;
@@ -19,7 +24,6 @@ import com.one.kc.user.dto.UserDto;
 import com.one.kc.user.entity.User;
 import com.one.kc.user.mapper.UserMapper;
 import com.one.kc.user.repository.UserRepository;
-import jakarta.transaction.Transactional;
 import org.apache.commons.lang3.StringUtils;
 import org.jspecify.annotations.NonNull;
 import org.slf4j.Logger;
@@ -30,8 +34,12 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -45,18 +53,33 @@ public class UserService {
     private final UserMapper userMapper;
     private final SnowflakeIdGenerator idGenerator;
     private final GroupRepository groupRepository;
+    private final ChantingStreakService chantingStreakService;
+    private final ChantingSummaryService chantingSummaryService;
+    private final DashboardCacheService dashboardCacheService;
+    private final ChantingHeatmapService chantingHeatmapService;
+    private final FacilitatorLeaderboardService facilitatorLeaderboardService;
 
 
     public UserService(
             UserRepository userRepository,
             UserMapper userMapper,
             SnowflakeIdGenerator idGenerator,
-            GroupRepository groupRepository
+            GroupRepository groupRepository,
+            ChantingStreakService chantingStreakService,
+            ChantingSummaryService chantingSummaryService,
+            DashboardCacheService dashboardCacheService,
+            FacilitatorLeaderboardService facilitatorLeaderboardService,
+            ChantingHeatmapService chantingHeatmapService
     ) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.idGenerator = idGenerator;
         this.groupRepository = groupRepository;
+        this.chantingStreakService = chantingStreakService;
+        this.chantingSummaryService = chantingSummaryService;
+        this.dashboardCacheService = dashboardCacheService;
+        this.facilitatorLeaderboardService = facilitatorLeaderboardService;
+        this.chantingHeatmapService = chantingHeatmapService;
     }
 
     /**
@@ -65,6 +88,7 @@ public class UserService {
      * <p>
      * - Validates that the request contains a non-empty email
      * - Checks if a user already exists with the given email
+     * - Normalizes the time zone, rejecting unknown zones
      * - Maps DTO to entity and persists it
      * - Sets user status to {@link UserStatus#ACTIVE}
      * </p>
@@ -76,11 +100,22 @@ public class UserService {
     public User createUser(UserDto userDto) {
         validateUserDto(userDto);
 
+        // Every later ZoneId.of on the stored zone must succeed
+        if (StringUtils.isNotBlank(userDto.getTimeZone())) {
+            userDto.setTimeZone(normalizeTimeZone(userDto.getTimeZone()));
+        }
+
         User user = prepareUser(userDto);
 
         // ensureGenderGroupMembership(user, userDto.getGender());
         User saved = userRepository.save(user);
 
+        // The facilitator's leaderboard lists all of their users
+        Long facilitatorId = getFacilitatorId(saved);
+        if (facilitatorId != null) {
+            facilitatorLeaderboardService.evictAfterCommit(facilitatorId);
+        }
+
         LoggerUtils.info(logger, "User created: {}", saved.getEmail());
 
         return saved;
@@ -157,6 +192,14 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "User not found "));
 
+        Integer previousCommittedRounds = existingUser.getCommittedRounds();
+        Long previousFacilitatorId = getFacilitatorId(existingUser);
+        LocalDate previousToday = chantingSummaryService.today(existingUser);
+
+        if (StringUtils.isNotBlank(userDto.getTimeZone())) {
+            userDto.setTimeZone(normalizeTimeZone(userDto.getTimeZone()));
+        }
+
         userMapper.updateEntityFromDto(userDto, existingUser);
 
         if (CollectionUtils.isEmpty(existingUser.getRoles())) {
@@ -208,6 +251,34 @@ public class UserService {
 
         User updatedUser = userRepository.save(existingUser);
 
+        LocalDate today = chantingSummaryService.today(updatedUser);
+
+        // Leaderboard membership follows the facilitator assignment
+        Long facilitatorId = getFacilitatorId(updatedUser);
+        if (!Objects.equals(previousFacilitatorId, facilitatorId)) {
+            if (previousFacilitatorId != null) {
+                facilitatorLeaderboardService.evictAfterCommit(previousFacilitatorId);
+            }
+            if (facilitatorId != null) {
+                facilitatorLeaderboardService.evictAfterCommit(facilitatorId);
+            }
+        }
+
+        // Streak qualification depends on the commitment
+        if (!Objects.equals(previousCommittedRounds, updatedUser.getCommittedRounds())) {
+            chantingStreakService.recalculate(
+                    updatedUser.getUserId(),
+                    updatedUser.getCommittedRounds()
+            );
+            dashboardCacheService.evictAllAfterCommit(updatedUser.getUserId(), today);
+            chantingHeatmapService.evictAllAfterCommit(updatedUser.getUserId(), today);
+        }
+
+        // Existing chanting keeps its stored day; only "today" moves
+        if (!previousToday.equals(today)) {
+            dashboardCacheService.evictAllAfterCommit(updatedUser.getUserId(), previousToday);
+        }
+
         UserDto userDtoResponse = userMapper.toDto(updatedUser);
         setPhoneParts(updatedUser, userDtoResponse);
 
@@ -216,6 +287,18 @@ public class UserService {
         return ResponseEntity.ok(userDtoResponse);
     }
 
+    private String normalizeTimeZone(String timeZone) {
+        try {
+            return ZoneId.of(timeZone.trim()).getId();
+        } catch (DateTimeException e) {
+            throw new UserFacingException("Invalid time zone: " + timeZone);
+        }
+    }
+
+    private Long getFacilitatorId(User user) {
+        return user.getFacilitator() == null ? null : user.getFacilitator().getUserId();
+    }
+
     private Group getRootGroup(User user) {
 
         return user.getGroupMemberships().stream()
@@ -234,6 +317,7 @@ public class UserService {
      * @return {@link UserDto} for the requested user
      * @throws ResourceNotFoundException if user is not found
      */
+    @Transactional(readOnly = true)
     public ResponseEntity<UserDto> getUser(Jwt jwt) {
 
         Long userId = JwtUtil.getUserId(jwt);
@@ -275,6 +359,7 @@ public class UserService {
         }
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> getUserFromEmail(String email) {
         if (StringUtils.isBlank(email)) return Optional.empty();
         return userRepository.findByEmail(email);
@@ -282,12 +367,12 @@ public class UserService {
 
     public Optional<User> findByGoogleSub(String email) {
         if (StringUtils.isBlank(email)) return Optional.empty();
-        return userRepository.findByEmail(email);
+        return userRepository.findWithRolesByEmail(email);
     }
 
     public Optional<User> findByUserId(Long userId) {
         if (userId == null) return Optional.empty();
-        return userRepository.findByUserId(userId);
+        return userRepository.findWithRolesByUserId(userId);
     }
 
     /**
@@ -346,6 +431,7 @@ public class UserService {
      *
      * @return List<UserDto>
      */
+    @Transactional(readOnly = true)
     public ResponseEntity<List<UserDto>> getAllUsers() {
         List<User> userList = userRepository.findAll();
 
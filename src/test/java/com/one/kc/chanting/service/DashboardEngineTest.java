@@ -0,0 +1,103 @@
+package com.one.kc.chanting.service;
+
+import com.one.kc.chanting.entity.ChantingDailySummary;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DashboardEngineTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void dailyRoundsPlacesRowsByDayAndIgnoresRowsOutsideTheRange() {
+
+        List<ChantingDailySummary> summaries = List.of(
+                new ChantingDailySummary(1L, DAY.minusDays(1), 7),
+                new ChantingDailySummary(1L, DAY, 4),
+                new ChantingDailySummary(1L, DAY.plusDays(2), 16),
+                new ChantingDailySummary(1L, DAY.plusDays(3), 9)
+        );
+
+        int[] rounds = DashboardEngine.dailyRounds(summaries, DAY, DAY.plusDays(2));
+
+        assertArrayEquals(new int[] {4, 0, 16}, rounds);
+        assertEquals(20, DashboardEngine.total(rounds));
+    }
+
+    @Test
+    void averageRoundsHalfUpToTwoDecimals() {
+
+        assertEquals(new BigDecimal("0.13"), DashboardEngine.average(1, DAY, DAY.plusDays(7)));
+        assertEquals(new BigDecimal("3.33"), DashboardEngine.average(10, DAY, DAY.plusDays(2)));
+        assertEquals(new BigDecimal("0.67"), DashboardEngine.average(2, DAY, DAY.plusDays(2)));
+        assertEquals(new BigDecimal("-0.13"), DashboardEngine.average(-1, DAY, DAY.plusDays(7)));
+        assertEquals(new BigDecimal("0.00"), DashboardEngine.average(0, DAY, DAY));
+        assertEquals(new BigDecimal("16.00"), DashboardEngine.average(16, DAY, DAY));
+    }
+
+    @Test
+    void averageMatchesBigDecimalDivision() {
+
+        for (int total = -100; total <= 2000; total += 7) {
+            for (int days = 1; days <= 400; days++) {
+
+                BigDecimal expected = BigDecimal.valueOf(total)
+                        .divide(BigDecimal.valueOf(days), 2, RoundingMode.HALF_UP);
+
+                assertEquals(expected, DashboardEngine.average(total, DAY, DAY.plusDays(days - 1)),
+                        total + " rounds over " + days + " days");
+            }
+        }
+    }
+
+    @Test
+    void streakOfNoDates() {
+
+        DashboardEngine.Streak streak = DashboardEngine.streak(List.of());
+
+        assertEquals(0, streak.current());
+        assertEquals(0, streak.longest());
+        assertNull(streak.lastDate());
+    }
+
+    @Test
+    void streakEndsWithTheLatestRun() {
+
+        DashboardEngine.Streak streak = DashboardEngine.streak(List.of(
+                DAY,
+                DAY.plusDays(1),
+                DAY.plusDays(2),
+                DAY.plusDays(4)
+        ));
+
+        assertEquals(1, streak.current());
+        assertEquals(3, streak.longest());
+        assertEquals(DAY.plusDays(4), streak.lastDate());
+    }
+
+    @Test
+    void streakAcrossMonthAndYearEnds() {
+
+        LocalDate newYearsEve = LocalDate.of(2024, 12, 31);
+
+        DashboardEngine.Streak streak = DashboardEngine.streak(List.of(
+                LocalDate.of(2024, 2, 28),
+                LocalDate.of(2024, 2, 29),
+                newYearsEve.minusDays(1),
+                newYearsEve,
+                newYearsEve.plusDays(1)
+        ));
+
+        assertEquals(3, streak.current());
+        assertEquals(3, streak.longest());
+        assertEquals(newYearsEve.plusDays(1), streak.lastDate());
+    }
+}
@@ -0,0 +1,86 @@
+package com.one.kc.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ReplicaRoutingDataSourceTest {
+
+    // Pools are never started; only the routing decision is exercised
+    private final HikariDataSource primary = new HikariDataSource();
+    private final HikariDataSource replica0 = new HikariDataSource();
+    private final HikariDataSource replica1 = new HikariDataSource();
+
+    @AfterEach
+    void resetTransactionState() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        DataSourceRoutingContext.clear();
+    }
+
+    @Test
+    void readWriteTransactionsUseThePrimary() {
+
+        ReplicaRoutingDataSource routing = routing(List.of(replica0, replica1));
+
+        assertSame(primary, target(routing));
+    }
+
+    @Test
+    void readOnlyTransactionsAlternateBetweenReplicas() {
+
+        ReplicaRoutingDataSource routing = routing(List.of(replica0, replica1));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(replica0, target(routing));
+        assertSame(replica1, target(routing));
+        assertSame(replica0, target(routing));
+    }
+
+    @Test
+    void onPrimaryKeepsReadOnlyTransactionsOnThePrimary() {
+
+        ReplicaRoutingDataSource routing = routing(List.of(replica0, replica1));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primary, DataSourceRoutingContext.onPrimary(() -> target(routing)));
+        assertSame(replica0, target(routing));
+    }
+
+    @Test
+    void readYourWritesWindowKeepsTheRequestOnThePrimary() {
+
+        ReplicaRoutingDataSource routing = routing(List.of(replica0, replica1));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        DataSourceRoutingContext.forcePrimary();
+        assertSame(primary, target(routing));
+
+        DataSourceRoutingContext.clear();
+        assertSame(replica0, target(routing));
+    }
+
+    @Test
+    void withoutReplicasEverythingUsesThePrimary() {
+
+        ReplicaRoutingDataSource routing = routing(List.of());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primary, target(routing));
+    }
+
+    private ReplicaRoutingDataSource routing(List<HikariDataSource> replicas) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private DataSource target(ReplicaRoutingDataSource routing) {
+        return routing.getResolvedDataSources().get(routing.determineCurrentLookupKey());
+    }
+}
@@ -0,0 +1,70 @@
+package com.one.kc.common.enums;
+
+import com.one.kc.common.exceptions.UserFacingException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DashboardGranularityTest {
+
+    @Test
+    void dayBuckets() {
+
+        LocalDate from = LocalDate.of(2024, 2, 28);
+
+        assertEquals(0, DashboardGranularity.DAY.bucketIndex(from, from));
+        assertEquals(2, DashboardGranularity.DAY.bucketIndex(from, LocalDate.of(2024, 3, 1)));
+        assertEquals(1, DashboardGranularity.DAY.bucketCount(from, from));
+        assertEquals(366, DashboardGranularity.DAY.bucketCount(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+    }
+
+    @Test
+    void weekBucketsStartOnMonday() {
+
+        // Wednesday, in the week starting Monday 2024-12-30
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate firstBucket = DashboardGranularity.WEEK.bucketStart(from);
+
+        assertEquals(LocalDate.of(2024, 12, 30), firstBucket);
+        assertEquals(0, DashboardGranularity.WEEK.bucketIndex(firstBucket, LocalDate.of(2025, 1, 5)));
+        assertEquals(1, DashboardGranularity.WEEK.bucketIndex(firstBucket, LocalDate.of(2025, 1, 6)));
+        assertEquals(1, DashboardGranularity.WEEK.bucketCount(from, LocalDate.of(2025, 1, 5)));
+        assertEquals(2, DashboardGranularity.WEEK.bucketCount(from, LocalDate.of(2025, 1, 6)));
+    }
+
+    @Test
+    void monthBuckets() {
+
+        LocalDate firstBucket = LocalDate.of(2025, 1, 1);
+
+        assertEquals(0, DashboardGranularity.MONTH.bucketIndex(firstBucket, LocalDate.of(2025, 1, 31)));
+        assertEquals(2, DashboardGranularity.MONTH.bucketIndex(firstBucket, LocalDate.of(2025, 3, 31)));
+        assertEquals(1, DashboardGranularity.MONTH.bucketCount(firstBucket, LocalDate.of(2025, 1, 31)));
+        assertEquals(2, DashboardGranularity.MONTH.bucketCount(
+                LocalDate.of(2025, 1, 31), LocalDate.of(2025, 2, 1)));
+        assertEquals(LocalDate.of(2025, 2, 1),
+                DashboardGranularity.MONTH.bucketStart(firstBucket, 1));
+    }
+
+    @Test
+    void yearBuckets() {
+
+        assertEquals(LocalDate.of(2024, 1, 1),
+                DashboardGranularity.YEAR.bucketStart(LocalDate.of(2024, 2, 29)));
+        assertEquals(2, DashboardGranularity.YEAR.bucketCount(
+                LocalDate.of(2024, 12, 31), LocalDate.of(2025, 1, 1)));
+        assertEquals(10, DashboardGranularity.YEAR.bucketCount(
+                LocalDate.of(2016, 6, 1), LocalDate.of(2025, 6, 1)));
+    }
+
+    @Test
+    void fromIsCaseInsensitive() {
+
+        assertEquals(DashboardGranularity.WEEK, DashboardGranularity.from("week"));
+        assertThrows(UserFacingException.class, () -> DashboardGranularity.from("hour"));
+    }
+}
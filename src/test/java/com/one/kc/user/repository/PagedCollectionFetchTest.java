@@ -0,0 +1,130 @@
+package com.one.kc.user.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards against paged repository queries that fetch a collection, which
+ * Hibernate paginates in memory after loading every match (HHH90003004).
+ * Such queries must page ids first and fetch the collection for that page,
+ * as {@link UserRepository#findUserIdsInSameRootGroup} does.
+ */
+class PagedCollectionFetchTest {
+
+    private static final String BASE_PACKAGE = "com.one.kc";
+
+    @Test
+    void pagedQueriesDoNotFetchCollections() {
+
+        List<Class<?>> repositories = findRepositories();
+        assertTrue(repositories.contains(UserRepository.class));
+
+        List<String> violations = new ArrayList<>();
+
+        for (Class<?> repository : repositories) {
+
+            Class<?> domainType = AbstractRepositoryMetadata.getMetadata(repository).getDomainType();
+
+            for (Method method : repository.getDeclaredMethods()) {
+                if (!isPaged(method)) {
+                    continue;
+                }
+
+                EntityGraph entityGraph = AnnotatedElementUtils.findMergedAnnotation(method, EntityGraph.class);
+                if (entityGraph != null) {
+                    for (String path : entityGraph.attributePaths()) {
+                        if (reachesCollection(domainType, path)) {
+                            violations.add(repository.getSimpleName() + "." + method.getName()
+                                    + " entity graph fetches " + path);
+                        }
+                    }
+                }
+
+                Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+                if (query != null && !query.nativeQuery()
+                        && query.value().toLowerCase(Locale.ROOT).matches("(?s).*join\\s+fetch.*")) {
+                    violations.add(repository.getSimpleName() + "." + method.getName()
+                            + " uses JOIN FETCH");
+                }
+            }
+        }
+
+        assertEquals(List.of(), violations);
+    }
+
+    private boolean isPaged(Method method) {
+        return Page.class.isAssignableFrom(method.getReturnType())
+                || Slice.class.isAssignableFrom(method.getReturnType())
+                || Arrays.stream(method.getParameterTypes()).anyMatch(Pageable.class::isAssignableFrom);
+    }
+
+    /**
+     * Whether any segment of a dotted attribute path is a collection.
+     */
+    private boolean reachesCollection(Class<?> type, String path) {
+
+        Class<?> current = type;
+
+        for (String attribute : path.split("\\.")) {
+            Field field = ReflectionUtils.findField(current, attribute);
+            if (field == null) {
+                // Unknown attribute: treat as unsafe rather than pass silently
+                return true;
+            }
+            if (Collection.class.isAssignableFrom(field.getType())
+                    || Map.class.isAssignableFrom(field.getType())) {
+                return true;
+            }
+            current = field.getType();
+        }
+
+        return false;
+    }
+
+    private List<Class<?>> findRepositories() {
+
+        ClassPathScanningCandidateComponentProvider scanner =
+                new ClassPathScanningCandidateComponentProvider(false) {
+                    @Override
+                    protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                        return beanDefinition.getMetadata().isInterface();
+                    }
+                };
+        scanner.addIncludeFilter(new AssignableTypeFilter(Repository.class));
+
+        List<Class<?>> repositories = new ArrayList<>();
+        for (BeanDefinition candidate : scanner.findCandidateComponents(BASE_PACKAGE)) {
+            repositories.add(ClassUtils.resolveClassName(
+                    candidate.getBeanClassName(),
+                    getClass().getClassLoader()
+            ));
+        }
+
+        return repositories;
+    }
+}